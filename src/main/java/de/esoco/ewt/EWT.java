@@ -62,6 +62,7 @@ import de.esoco.ewt.layout.DefaultLayoutFactory;
 import de.esoco.ewt.layout.LayoutFactory;
 import de.esoco.ewt.layout.LayoutMapper;
 import de.esoco.ewt.layout.LayoutMapper.IdentityLayoutMapper;
+import de.esoco.ewt.style.StylePlan;
 
 import de.esoco.lib.text.TextConvert;
 
@@ -123,6 +124,9 @@ public class EWT {
 	private static Map<Class<? extends Component>, WidgetFactory<?>>
 		widgetFactories = new HashMap<>();
 
+	private static Map<Class<?>, WidgetFactory<?>> resolvedWidgetFactories =
+		new HashMap<>();
+
 	/**
 	 * Private - only static method access.
 	 */
@@ -145,6 +149,7 @@ public class EWT {
 		}
 
 		cssClassMap.put(applicationCssClass, targetCssClass);
+		StylePlan.clearCache();
 	}
 
 	/**
@@ -298,20 +303,28 @@ public class EWT {
 
 	/**
 	 * Returns the widget factory for a certain component or layout instance.
+	 * If no factory has been registered for the exact component class the
+	 * factory of the nearest superclass will be returned. The result of this
+	 * resolution is cached per class until the next factory registration.
 	 *
 	 * @param componentClass The component class for which to return the
 	 *                          factory
 	 *                       for
 	 * @return The widget factory or NULL if no factory has been registered
+	 * for the class or any of it's superclasses
 	 * @see #registerWidgetFactory(Class, WidgetFactory, boolean)
 	 */
 	public static WidgetFactory<?> getWidgetFactory(
 		Class<? extends Component> componentClass) {
-		if (widgetFactories.isEmpty()) {
-			registerDefaultWidgetFactories(true);
+		WidgetFactory<?> factory = resolvedWidgetFactories.get(componentClass);
+
+		if (factory == null &&
+			!resolvedWidgetFactories.containsKey(componentClass)) {
+			factory = resolveWidgetFactory(componentClass);
+			resolvedWidgetFactories.put(componentClass, factory);
 		}
 
-		return widgetFactories.get(componentClass);
+		return factory;
 	}
 
 	/**
@@ -487,7 +500,9 @@ public class EWT {
 	}
 
 	/**
-	 * Registers a widget factory for a certain component type.
+	 * Registers a widget factory for a certain component type. The factory
+	 * will also be used for subclasses of the component type that have no
+	 * factory of their own.
 	 *
 	 * @param componentClass  The type of component to register the factory for
 	 * @param factory         The widget factory
@@ -501,6 +516,7 @@ public class EWT {
 		boolean replaceExisting) {
 		if (replaceExisting || !widgetFactories.containsKey(componentClass)) {
 			widgetFactories.put(componentClass, factory);
+			resolvedWidgetFactories.clear();
 		}
 	}
 
@@ -585,4 +601,29 @@ public class EWT {
 			layoutMapper = new IdentityLayoutMapper();
 		}
 	}
+
+	/**
+	 * Resolves the widget factory for a component class by searching the
+	 * registered factories for the class and it's superclasses. Registers the
+	 * default factories if no factories have been registered yet.
+	 *
+	 * @param componentClass The component class
+	 * @return The widget factory or NULL if none could be found
+	 */
+	private static WidgetFactory<?> resolveWidgetFactory(
+		Class<?> componentClass) {
+		if (widgetFactories.isEmpty()) {
+			registerDefaultWidgetFactories(true);
+		}
+
+		WidgetFactory<?> factory = null;
+		Class<?> type = componentClass;
+
+		while (factory == null && type != null) {
+			factory = widgetFactories.get(type);
+			type = type.getSuperclass();
+		}
+
+		return factory;
+	}
 }
@@ -0,0 +1,116 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parsed message pattern with placeholder tokens of the form %x as
+ * described in {@link UserInterfaceContext#formatMessage(String, Object[])}.
+ * The pattern is split only once into the literal text segments between the
+ * placeholders so that formatting only needs to insert the argument values.
+ */
+final class MessagePattern {
+
+	private final String[] literals;
+
+	private final int literalLength;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param literals      The literal segments before, between, and after
+	 *                      the placeholders
+	 * @param literalLength The total length of all literal segments
+	 */
+	private MessagePattern(String[] literals, int literalLength) {
+		this.literals = literals;
+		this.literalLength = literalLength;
+	}
+
+	/**
+	 * Parses a message pattern. A single '%' at the end of the pattern will
+	 * be treated as literal text.
+	 *
+	 * @param pattern The pattern string with tokens in the form %x
+	 * @return The parsed pattern
+	 */
+	static MessagePattern compile(String pattern) {
+		List<String> literals = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		int literalLength = 0;
+		int position = 0;
+		int tokenPos;
+
+		while ((tokenPos = pattern.indexOf('%', position)) >= 0 &&
+			tokenPos < pattern.length() - 1) {
+			literal.append(pattern, position, tokenPos);
+
+			if (pattern.charAt(tokenPos + 1) == '%') {
+				literal.append('%');
+			} else {
+				literalLength += literal.length();
+				literals.add(literal.toString());
+				literal.setLength(0);
+			}
+
+			position = tokenPos + 2;
+		}
+
+		literal.append(pattern, position, pattern.length());
+		literalLength += literal.length();
+		literals.add(literal.toString());
+
+		return new MessagePattern(literals.toArray(new String[0]),
+			literalLength);
+	}
+
+	/**
+	 * Formats this pattern by replacing the placeholders with the string
+	 * values of the corresponding arguments.
+	 *
+	 * @param args The arguments to replace the placeholders with
+	 * @return The formatted string
+	 * @throws IllegalArgumentException If there are less arguments than
+	 *                                  placeholders
+	 */
+	String format(Object[] args) {
+		int placeholders = literals.length - 1;
+
+		if (args.length < placeholders) {
+			throw new IllegalArgumentException(
+				"Pattern requires " + placeholders + " arguments");
+		}
+
+		String[] values = new String[placeholders];
+		int length = literalLength;
+
+		for (int i = 0; i < placeholders; i++) {
+			values[i] = args[i].toString();
+			length += values[i].length();
+		}
+
+		StringBuilder result = new StringBuilder(length);
+
+		for (int i = 0; i < placeholders; i++) {
+			result.append(literals[i]).append(values[i]);
+		}
+
+		return result.append(literals[placeholders]).toString();
+	}
+}
@@ -0,0 +1,107 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precompiled template for text that contains embedded resource tokens of
+ * the form {$[key]}. The text is parsed only once into a sequence of literal
+ * text segments and resource keys which can then be rendered repeatedly
+ * without re-scanning the text. Used internally by
+ * {@link UserInterfaceContext#expandResource(String)}.
+ */
+final class ResourceTemplate {
+
+	private final String[] segments;
+
+	private final int literalLength;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param segments      The alternating literal and key segments
+	 * @param literalLength The total length of all literal segments
+	 */
+	private ResourceTemplate(String[] segments, int literalLength) {
+		this.segments = segments;
+		this.literalLength = literalLength;
+	}
+
+	/**
+	 * Compiles a text with resource tokens into a template. A token without
+	 * a closing brace will be treated as literal text.
+	 *
+	 * @param text The text to compile
+	 * @return The compiled template
+	 */
+	static ResourceTemplate compile(String text) {
+		List<String> segments = new ArrayList<>();
+		int literalLength = 0;
+		int position = 0;
+		int start;
+
+		while ((start = text.indexOf("{$", position)) >= 0) {
+			int end = text.indexOf('}', start + 2);
+
+			if (end < 0) {
+				break;
+			}
+
+			segments.add(text.substring(position, start));
+			segments.add(text.substring(start + 2, end));
+			literalLength += start - position;
+			position = end + 1;
+		}
+
+		segments.add(text.substring(position));
+		literalLength += text.length() - position;
+
+		return new ResourceTemplate(segments.toArray(new String[0]),
+			literalLength);
+	}
+
+	/**
+	 * Renders this template by replacing the resource keys with the
+	 * corresponding resource strings from a user interface context.
+	 *
+	 * @param context The context to lookup the resource strings from
+	 * @return The rendered text
+	 */
+	String render(UserInterfaceContext context) {
+		if (segments.length == 1) {
+			return segments[0];
+		}
+
+		String[] values = new String[segments.length / 2];
+		int length = literalLength;
+
+		for (int i = 0; i < values.length; i++) {
+			values[i] = context.getResourceString(segments[2 * i + 1], null);
+			length += values[i].length();
+		}
+
+		StringBuilder result = new StringBuilder(length);
+
+		for (int i = 0; i < values.length; i++) {
+			result.append(segments[2 * i]).append(values[i]);
+		}
+
+		return result.append(segments[segments.length - 1]).toString();
+	}
+}
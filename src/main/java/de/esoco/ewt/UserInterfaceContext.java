@@ -39,16 +39,26 @@ import de.esoco.ewt.component.View;
 import de.esoco.ewt.event.EventType;
 import de.esoco.ewt.event.EwtEvent;
 import de.esoco.ewt.event.EwtEventHandler;
+import de.esoco.ewt.event.KeyCode;
+import de.esoco.ewt.event.ModifierKeys;
 import de.esoco.ewt.graphics.Icon;
 import de.esoco.ewt.graphics.Image;
 import de.esoco.ewt.graphics.ImageRef;
 import de.esoco.ewt.graphics.Screen;
+import de.esoco.ewt.impl.gwt.DomBatch;
 import de.esoco.ewt.impl.gwt.GewtStrings;
+import de.esoco.ewt.impl.gwt.KeyShortcutRegistry;
+import de.esoco.ewt.impl.gwt.UiTaskScheduler;
+import de.esoco.ewt.impl.gwt.UiTaskScheduler.Priority;
 import de.esoco.ewt.style.AlignedPosition;
 import de.esoco.ewt.style.ViewStyle;
+import de.esoco.lib.datatype.Pair;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This is the main interface for creating and manipulating EWT components. It
@@ -61,6 +71,8 @@ public class UserInterfaceContext {
 
 	private static final Screen DEFAULT_SCREEN = new Screen();
 
+	private static final int MAX_RESOURCE_TEMPLATES = 500;
+
 	private static final GwtResource GEWT_RESOURCE =
 		new GwtResource(GWT.create(GewtStrings.class));
 
@@ -68,8 +80,26 @@ public class UserInterfaceContext {
 
 	private List<EwtEventHandler> globalKeyListeners;
 
+	private KeyShortcutRegistry keyShortcuts;
+
 	private final Resource resource;
 
+	private final Map<String, String> resourceCache = new HashMap<>();
+
+	private int resourceCacheHits = 0;
+
+	private int resourceCacheMisses = 0;
+
+	private final Map<String, ResourceTemplate> resourceTemplates =
+		new HashMap<>();
+
+	private final Map<String, MessagePattern> messagePatterns =
+		new HashMap<>();
+
+	private final Map<String, Image> imageCache = new HashMap<>();
+
+	private boolean lazyImageLoading = false;
+
 	/**
 	 * Creates a new instance that uses a certain resource.
 	 *
@@ -95,34 +125,7 @@ public class UserInterfaceContext {
 	 * @return String The formatted string
 	 */
 	static final String formatMessage(String pattern, Object[] args) {
-		StringBuilder builder = new StringBuilder(pattern);
-		int tokenPos = 0;
-		int currentPos = 0;
-		int prevTokenPos = 0;
-		int arg = 0;
-
-		while ((tokenPos = pattern.indexOf('%', tokenPos)) >= 0) {
-			if (pattern.charAt(tokenPos + 1) == '%') {
-				builder.deleteCharAt(tokenPos);
-			} else {
-				// if valid position then replace token with corresponding
-				// value (i.e., an argument object converted to a string)
-				String value = args[arg].toString();
-
-				currentPos += (tokenPos - prevTokenPos);
-				builder.delete(currentPos, currentPos + 2);
-				builder.insert(currentPos, value);
-
-				// compensate insertion of the value string and the removal of
-				// 2 chars from the placeholder token
-				currentPos += (value.length() - 2);
-				prevTokenPos = tokenPos;
-			}
-
-			tokenPos++;
-		}
-
-		return builder.toString();
+		return MessagePattern.compile(pattern).format(args);
 	}
 
 	/**
@@ -182,16 +185,80 @@ public class UserInterfaceContext {
 	 * @param listener The key listener to register
 	 */
 	public void addGlobalKeyListener(EwtEventHandler listener) {
-		if (globalKeyHandlerRegistration == null) {
-			globalKeyHandlerRegistration =
-				Event.addNativePreviewHandler(new GlobalKeyEventHandler());
-		}
-
 		if (globalKeyListeners == null) {
 			globalKeyListeners = new ArrayList<EwtEventHandler>();
 		}
 
 		globalKeyListeners.add(listener);
+		registerGlobalKeyHandler();
+	}
+
+	/**
+	 * Adds a keyboard shortcut for a single key stroke.
+	 *
+	 * @param scope     The component to restrict the shortcut to (typically a
+	 *                  view) or NULL for a global shortcut
+	 * @param modifiers The modifier keys of the shortcut
+	 * @param key       The key code of the shortcut
+	 * @param handler   The event handler to be invoked for the shortcut
+	 * @see #addShortcut(Component, List, EwtEventHandler)
+	 */
+	public void addShortcut(Component scope, ModifierKeys modifiers,
+		KeyCode key, EwtEventHandler handler) {
+		addShortcut(scope, Arrays.asList(Pair.of(modifiers, key)), handler);
+	}
+
+	/**
+	 * Adds a keyboard shortcut for a sequence of key strokes. All shortcuts
+	 * of
+	 * a context are compiled into a single lookup structure so that each key
+	 * event is only matched once and only the handler of the matching
+	 * shortcut
+	 * will be invoked. A sequence of multiple key strokes defines a chord in
+	 * which all strokes but the last act as a prefix for the following
+	 * stroke.
+	 *
+	 * <p>If a scope component is given the shortcut will only be invoked if
+	 * the keyboard event occurs inside of that component. If multiple scopes
+	 * match the innermost will be used. Global shortcuts (with a NULL scope)
+	 * will only be invoked if no scoped shortcut matches the event. The
+	 * handler will receive an event of the type {@link EventType#KEY_PRESSED}
+	 * with the scope or, for global shortcuts, this context as the source.
+	 * </p>
+	 *
+	 * @param scope       The component to restrict the shortcut to or NULL
+	 *                    for a global shortcut
+	 * @param keySequence The sequence of key strokes of the shortcut
+	 * @param handler     The event handler to be invoked for the shortcut
+	 */
+	public void addShortcut(Component scope,
+		List<Pair<ModifierKeys, KeyCode>> keySequence,
+		EwtEventHandler handler) {
+		if (keyShortcuts == null) {
+			keyShortcuts = new KeyShortcutRegistry();
+		}
+
+		keyShortcuts.add(keySequence, scope, handler);
+		registerGlobalKeyHandler();
+	}
+
+	/**
+	 * Clears the cache of resolved resource strings. The strings that are
+	 * looked up from the context resource are cached, including the keys for
+	 * which no resource string exists, together with the compiled templates
+	 * of texts with resource tokens, the parsed message patterns of formatted
+	 * resource strings, and the images created by
+	 * {@link #createImage(Object)}. This method must be invoked if
+	 * the resource set changes, e.g. if resources are added to the context
+	 * resource or if the locale changes.
+	 */
+	public void clearResourceCache() {
+		resourceCache.clear();
+		resourceTemplates.clear();
+		messagePatterns.clear();
+		imageCache.clear();
+		resourceCacheHits = 0;
+		resourceCacheMisses = 0;
 	}
 
 	/**
@@ -231,45 +298,25 @@ public class UserInterfaceContext {
 	 * a component and automatically managed.
 	 *
 	 * <p>The argument to this method is either the direct name of an image
-	 * or a resource key (prefixed with '$') for it.</p>
+	 * or a resource key (prefixed with '$') for it. Images for such string
+	 * references are lightweight descriptors that are cached by the resolved
+	 * reference and therefore may be shared between multiple invocations.</p>
 	 *
 	 * @param imageReference image The image name
 	 * @return A new EWT image instance
 	 * @throws IllegalArgumentException If the given image reference is invalid
 	 */
 	public Image createImage(Object imageReference) {
-		Image image = null;
+		Image image;
 
 		if (imageReference instanceof String) {
 			String imgResource = expandResource((String) imageReference);
 
-			if (imgResource.length() > 2) {
-				if (imgResource.charAt(1) == Image.IMAGE_PREFIX_SEPARATOR) {
-					String imageUri = imgResource.substring(2);
-
-					if (imgResource.charAt(0) == Image.IMAGE_ICON_PREFIX) {
-						image = new Icon(imageUri);
-					} else if (imgResource.charAt(0) ==
-						Image.IMAGE_DATA_PREFIX) {
-						image = new ImageRef(imageUri);
-					} else if (imgResource.charAt(0) ==
-						Image.IMAGE_FILE_PREFIX) {
-						if (!imageUri.startsWith("http")) {
-							imageUri =
-								GWT.getModuleBaseForStaticFiles() + imageUri;
-						}
-
-						image = new ImageRef(imageUri);
-					}
-				} else {
-					image = resource.getImage(imgResource);
-				}
+			image = imageCache.get(imgResource);
 
-				if (image == null) {
-					GWT.log("No image for " + (imgResource.charAt(0) == '$' ?
-					                           imgResource.substring(1) :
-					                           image));
-				}
+			if (image == null && !imageCache.containsKey(imgResource)) {
+				image = resolveImage(imgResource);
+				imageCache.put(imgResource, image);
 			}
 		} else {
 			image = new ImageRef(imageReference);
@@ -325,17 +372,14 @@ public class UserInterfaceContext {
 		final AlignedPosition origin, final boolean checkBounds) {
 		if (view instanceof ChildView) {
 			// delay positioning until all children are attached
-			Scheduler.get().scheduleDeferred(new ScheduledCommand() {
-				@Override
-				public void execute() {
-					Widget viewWidget = view.getWidget();
+			runLater(Priority.RENDER, () -> {
+				Widget viewWidget = view.getWidget();
 
-					view.setVisible(true);
+				view.setVisible(true);
 
-					if (viewWidget instanceof PopupPanel) {
-						setPopupBounds((PopupPanel) viewWidget, x, y, origin,
-							checkBounds);
-					}
+				if (viewWidget instanceof PopupPanel) {
+					setPopupBounds((PopupPanel) viewWidget, x, y, origin,
+						checkBounds);
 				}
 			});
 		}
@@ -351,16 +395,13 @@ public class UserInterfaceContext {
 	public void displayViewCentered(final View view) {
 		if (view instanceof ChildView) {
 			// delay centering until all children are attached
-			Scheduler.get().scheduleDeferred(new ScheduledCommand() {
-				@Override
-				public void execute() {
-					Widget viewWidget = view.getWidget();
+			runLater(Priority.RENDER, () -> {
+				Widget viewWidget = view.getWidget();
 
-					view.setVisible(true);
+				view.setVisible(true);
 
-					if (viewWidget instanceof PopupPanel) {
-						((PopupPanel) view.getWidget()).center();
-					}
+				if (viewWidget instanceof PopupPanel) {
+					((PopupPanel) view.getWidget()).center();
 				}
 			});
 		}
@@ -412,6 +453,29 @@ public class UserInterfaceContext {
 		return DEFAULT_SCREEN;
 	}
 
+	/**
+	 * Returns the number of resource lookups that have been answered from the
+	 * resource cache since it has been cleared last. This includes lookups of
+	 * missing resources.
+	 *
+	 * @return The number of resource cache hits
+	 * @see #clearResourceCache()
+	 */
+	public final int getResourceCacheHits() {
+		return resourceCacheHits;
+	}
+
+	/**
+	 * Returns the number of resource lookups that had to be performed on the
+	 * context resource since the resource cache has been cleared last.
+	 *
+	 * @return The number of resource cache misses
+	 * @see #clearResourceCache()
+	 */
+	public final int getResourceCacheMisses() {
+		return resourceCacheMisses;
+	}
+
 	/**
 	 * Returns an arbitrary object from the resource that is associated with
 	 * this context. How the application resource is set depends on the EWT
@@ -428,7 +492,7 @@ public class UserInterfaceContext {
 	 * could be found
 	 */
 	public Object getResourceObject(String key) {
-		return resource.getString(key);
+		return lookupResourceString(key);
 	}
 
 	/**
@@ -462,24 +526,63 @@ public class UserInterfaceContext {
 	 *                                  pattern
 	 */
 	public String getResourceString(String key, Object[] formatArgs) {
-		String resourceString = resource.getString(key);
+		String resourceString = lookupResourceString(key);
 
 		if (resourceString == null) {
 			resourceString = key;
-
-			// ignore images because they are normally not mapped
-			if (!key.startsWith("im")) {
-				GWT.log("No resource for key " + key);
-			}
 		}
 
 		if (formatArgs != null && formatArgs.length > 0) {
-			resourceString = formatMessage(resourceString, formatArgs);
+			MessagePattern pattern = messagePatterns.get(key);
+
+			if (pattern == null) {
+				pattern = MessagePattern.compile(resourceString);
+				messagePatterns.put(key, pattern);
+			}
+
+			resourceString = pattern.format(formatArgs);
 		}
 
 		return resourceString;
 	}
 
+	/**
+	 * Checks whether images from URLs are loaded lazily.
+	 *
+	 * @return TRUE for lazy image loading
+	 * @see #setLazyImageLoading(boolean)
+	 */
+	public final boolean isLazyImageLoading() {
+		return lazyImageLoading;
+	}
+
+	/**
+	 * Queues code that reads layout properties from the DOM (like offset sizes
+	 * or positions) for execution in the read phase of the next animation
+	 * frame. All reads of a frame are executed before any writes that have
+	 * been queued with {@link #mutate(Runnable)} so that the browser needs to
+	 * calculate the layout only once. Code that needs to modify the DOM based
+	 * on the measured values should queue the modification with
+	 * {@link #mutate(Runnable)} from the read code.
+	 *
+	 * @param read The code that reads from the DOM
+	 */
+	public void measure(Runnable read) {
+		DomBatch.get().measure(read);
+	}
+
+	/**
+	 * Queues code that modifies the DOM or element styles for execution in
+	 * the
+	 * write phase of the next animation frame. See {@link #measure(Runnable)}
+	 * for details.
+	 *
+	 * @param write The code that modifies the DOM
+	 */
+	public void mutate(Runnable write) {
+		DomBatch.get().mutate(write);
+	}
+
 	/**
 	 * Removes an event listener that will be notified of global key events.
 	 *
@@ -490,9 +593,39 @@ public class UserInterfaceContext {
 			globalKeyListeners.remove(listener);
 
 			if (globalKeyListeners.isEmpty()) {
-				globalKeyHandlerRegistration.removeHandler();
-				globalKeyHandlerRegistration = null;
+				globalKeyListeners = null;
 			}
+
+			checkRemoveGlobalKeyHandler();
+		}
+	}
+
+	/**
+	 * Removes a keyboard shortcut that has been added with
+	 * {@link #addShortcut(Component, List, EwtEventHandler)}.
+	 *
+	 * @param scope       The scope of the shortcut or NULL for a global
+	 *                    shortcut
+	 * @param keySequence The key sequence of the shortcut
+	 */
+	public void removeShortcut(Component scope,
+		List<Pair<ModifierKeys, KeyCode>> keySequence) {
+		if (keyShortcuts != null) {
+			keyShortcuts.remove(keySequence, scope);
+			checkRemoveGlobalKeyHandler();
+		}
+	}
+
+	/**
+	 * Removes all keyboard shortcuts that have been added for a certain scope.
+	 * This should be invoked when a view with scoped shortcuts is discarded.
+	 *
+	 * @param scope The scope of the shortcuts to remove
+	 */
+	public void removeShortcuts(Component scope) {
+		if (keyShortcuts != null) {
+			keyShortcuts.removeAll(scope);
+			checkRemoveGlobalKeyHandler();
 		}
 	}
 
@@ -515,45 +648,160 @@ public class UserInterfaceContext {
 	 * implementation but the application must not expect that the code in the
 	 * Runnable object has already been executed when this method returns.</p>
 	 *
+	 * <p>This method schedules the runnable with the priority
+	 * {@link Priority#RENDER}. See {@link #runLater(Priority, Runnable)} for
+	 * details.</p>
+	 *
 	 * @param runnable The object of which the run() method will be invoked
 	 *                 asynchronously
 	 */
 	public void runLater(final Runnable runnable) {
-		Scheduler.get().scheduleDeferred(new ScheduledCommand() {
-			@Override
-			public void execute() {
-				runnable.run();
+		runLater(Priority.RENDER, runnable);
+	}
+
+	/**
+	 * Runs code asynchronously with a certain priority. The code will be
+	 * executed by the {@link UiTaskScheduler} which executes pending tasks by
+	 * priority within a time budget per frame and yields to the browser when
+	 * the budget is exhausted. Tasks with the priority
+	 * {@link Priority#BACKGROUND} will only be executed when the browser is
+	 * idle, e.g. for the prefetching of data.
+	 *
+	 * @param priority The execution priority
+	 * @param runnable The object of which the run() method will be invoked
+	 *                 asynchronously
+	 */
+	public void runLater(Priority priority, Runnable runnable) {
+		UiTaskScheduler.get().schedule(priority, runnable);
+	}
+
+	/**
+	 * Enables or disables the lazy loading of images from URLs. If enabled
+	 * the browser will only load such images when they become visible. Images
+	 * that have already been created will not be affected by changes of this
+	 * flag.
+	 *
+	 * @param lazyLoading TRUE to enable lazy image loading
+	 */
+	public final void setLazyImageLoading(boolean lazyLoading) {
+		lazyImageLoading = lazyLoading;
+		imageCache.clear();
+	}
+
+	/**
+	 * Removes the native global key handler if neither global key listeners
+	 * nor shortcuts are registered.
+	 */
+	private void checkRemoveGlobalKeyHandler() {
+		if (globalKeyHandlerRegistration != null &&
+			globalKeyListeners == null &&
+			(keyShortcuts == null || keyShortcuts.isEmpty())) {
+			globalKeyHandlerRegistration.removeHandler();
+			globalKeyHandlerRegistration = null;
+		}
+	}
+
+	/**
+	 * Looks up a resource string from the resource cache or, if not cached,
+	 * from the context resource. Missing resources are cached too so that
+	 * repeated lookups of missing keys don't need to query the resource again.
+	 *
+	 * @param key The resource key
+	 * @return The resource string or NULL if no resource exists for the key
+	 */
+	private String lookupResourceString(String key) {
+		String resourceString = resourceCache.get(key);
+
+		if (resourceString != null || resourceCache.containsKey(key)) {
+			resourceCacheHits++;
+		} else {
+			resourceString = resource.getString(key);
+			resourceCache.put(key, resourceString);
+			resourceCacheMisses++;
+
+			// ignore images because they are normally not mapped
+			if (resourceString == null && !key.startsWith("im")) {
+				GWT.log("No resource for key " + key);
+			}
+		}
+
+		return resourceString;
+	}
+
+	/**
+	 * Creates the image for a resolved image reference.
+	 *
+	 * @param imgResource The expanded image reference
+	 * @return The image or NULL if the reference could not be resolved
+	 */
+	private Image resolveImage(String imgResource) {
+		Image image = null;
+
+		if (imgResource.length() > 2) {
+			if (imgResource.charAt(1) == Image.IMAGE_PREFIX_SEPARATOR) {
+				String imageUri = imgResource.substring(2);
+
+				if (imgResource.charAt(0) == Image.IMAGE_ICON_PREFIX) {
+					image = new Icon(imageUri);
+				} else if (imgResource.charAt(0) == Image.IMAGE_DATA_PREFIX) {
+					image = new ImageRef(imageUri);
+				} else if (imgResource.charAt(0) == Image.IMAGE_FILE_PREFIX) {
+					if (!imageUri.startsWith("http")) {
+						imageUri = GWT.getModuleBaseForStaticFiles() + imageUri;
+					}
+
+					image = new ImageRef(imageUri, lazyImageLoading);
+				}
+			} else {
+				image = resource.getImage(imgResource);
 			}
-		});
+
+			if (image == null) {
+				GWT.log("No image for " + (imgResource.charAt(0) == '$' ?
+				                           imgResource.substring(1) :
+				                           imgResource));
+			}
+		}
+
+		return image;
+	}
+
+	/**
+	 * Registers the native global key handler if not yet done.
+	 */
+	private void registerGlobalKeyHandler() {
+		if (globalKeyHandlerRegistration == null) {
+			globalKeyHandlerRegistration =
+				Event.addNativePreviewHandler(new GlobalKeyEventHandler());
+		}
 	}
 
 	/**
 	 * Replaces all occurrences of resources in the format {$[token]} with the
 	 * expanded version of [token] as returned by
-	 * {@link #getResourceString(String, Object[])}.
+	 * {@link #getResourceString(String, Object[])}. The text is compiled
+	 * into a {@link ResourceTemplate} on the first invocation and the
+	 * template is then cached for subsequent invocations with the same text.
+	 * The number of cached templates is limited to prevent texts that are
+	 * created dynamically from filling the cache.
 	 *
 	 * @param text The text to replace resource tokens
 	 * @return A string containing the original text with the resource tokens
 	 * expanded
 	 */
 	private String replaceResources(String text) {
-		StringBuilder result = new StringBuilder();
-		int start;
+		ResourceTemplate template = resourceTemplates.get(text);
 
-		while ((start = text.indexOf("{$")) >= 0) {
-			result.append(text, 0, start);
-			start += 2;
-
-			int end = text.indexOf('}', start);
-			String resource = text.substring(start, end);
+		if (template == null) {
+			if (resourceTemplates.size() >= MAX_RESOURCE_TEMPLATES) {
+				resourceTemplates.clear();
+			}
 
-			result.append(getResourceString(resource, null));
-			text = text.substring(end + 1);
+			template = ResourceTemplate.compile(text);
+			resourceTemplates.put(text, template);
 		}
 
-		result.append(text);
-
-		return result.toString();
+		return template.render(this);
 	}
 
 	/**
@@ -572,8 +820,16 @@ public class UserInterfaceContext {
 			String type = event.getType();
 			char c = (char) event.getCharCode();
 
-			if (type.equalsIgnoreCase("keypress")) {
-				if (c != 0 && event.getAltKey() && event.getCtrlKey()) {
+			if (type.equalsIgnoreCase("keydown")) {
+				if (keyShortcuts != null &&
+					keyShortcuts.processKeyEvent(UserInterfaceContext.this,
+						event)) {
+					previewEvent.consume();
+					event.preventDefault();
+				}
+			} else if (type.equalsIgnoreCase("keypress")) {
+				if (globalKeyListeners != null && c != 0 &&
+					event.getAltKey() && event.getCtrlKey()) {
 					previewEvent.consume();
 
 					EwtEvent ewtEvent =
@@ -612,8 +868,10 @@ public class UserInterfaceContext {
 			 */
 			@Override
 			public void execute() {
-				for (EwtEventHandler listener : globalKeyListeners) {
-					listener.handleEvent(ewtEvent);
+				if (globalKeyListeners != null) {
+					for (EwtEventHandler listener : globalKeyListeners) {
+						listener.handleEvent(ewtEvent);
+					}
 				}
 			}
 		}
@@ -0,0 +1,219 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.app;
+
+import de.esoco.ewt.graphics.Image;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.Callback;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * A resource that is loaded asynchronously on first use. This allows to move
+ * the resources of application modules that are not needed on startup into
+ * separate code fragments by loading them from a {@code GWT.runAsync()} split
+ * point. Subclasses must implement {@link #loadResource(Callback)} which will
+ * be invoked once when the resource is needed:
+ *
+ * <pre>
+ * protected void loadResource(Callback&lt;Resource, Throwable&gt; callback) {
+ *     GWT.runAsync(ReportModule.class, new RunAsyncCallback() {
+ *         public void onSuccess() {
+ *             callback.onSuccess(new GwtResource(
+ *                 Arrays.asList(GWT.create(ReportStrings.class)),
+ *                 ReportImages.getImageMap()));
+ *         }
+ *
+ *         public void onFailure(Throwable reason) {
+ *             callback.onFailure(reason);
+ *         }
+ *     });
+ * }
+ * </pre>
+ *
+ * <p>Only keys that start with the key prefix of an instance will trigger the
+ * loading of the resource so that lookups of other keys in a chain of
+ * resources (see {@link ChainedResource}) don't load all module resources.
+ * Until the resource has been loaded lookups will return NULL. Applications
+ * should therefore invoke {@link #load()} before a module is displayed and
+ * use {@link #addLoadHandler(Runnable)} to be notified when the resource is
+ * available, e.g. to clear the resource cache of the user interface
+ * context. Because the context also caches the NULL results of lookups
+ * during the loading it's cache must also be cleared if the loading fails
+ * so that a later lookup will retry the loading. This can be done with a
+ * handler that is registered with {@link #addFailureHandler(Runnable)}.</p>
+ */
+public abstract class AsyncResource implements Resource {
+
+	private final String keyPrefix;
+
+	private final List<Runnable> failureHandlers = new ArrayList<>();
+
+	private Resource resource;
+
+	private boolean loading = false;
+
+	private List<Runnable> loadHandlers = new ArrayList<>();
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param keyPrefix The prefix of the resource keys that are contained in
+	 *                  this resource
+	 */
+	public AsyncResource(String keyPrefix) {
+		this.keyPrefix = keyPrefix;
+	}
+
+	/**
+	 * Adds a handler that will be invoked each time the loading of this
+	 * resource fails.
+	 *
+	 * @param handler The failure handler
+	 */
+	public void addFailureHandler(Runnable handler) {
+		failureHandlers.add(handler);
+	}
+
+	/**
+	 * Adds a handler that will be invoked after this resource has been
+	 * loaded. If the resource is already loaded the handler will be invoked
+	 * immediately.
+	 *
+	 * @param handler The load handler
+	 */
+	public void addLoadHandler(Runnable handler) {
+		if (resource != null) {
+			handler.run();
+		} else {
+			loadHandlers.add(handler);
+		}
+	}
+
+	/**
+	 * @see Resource#getImage(String)
+	 */
+	@Override
+	public Image getImage(String key) {
+		Resource loadedResource = getResource(key);
+
+		return loadedResource != null ? loadedResource.getImage(key) : null;
+	}
+
+	/**
+	 * Returns the key prefix of this resource.
+	 *
+	 * @return The key prefix
+	 */
+	public final String getKeyPrefix() {
+		return keyPrefix;
+	}
+
+	/**
+	 * @see Resource#getString(String)
+	 */
+	@Override
+	public String getString(String key) {
+		Resource loadedResource = getResource(key);
+
+		return loadedResource != null ? loadedResource.getString(key) : null;
+	}
+
+	/**
+	 * Checks whether this resource has been loaded.
+	 *
+	 * @return TRUE if the resource is available
+	 */
+	public final boolean isLoaded() {
+		return resource != null;
+	}
+
+	/**
+	 * Starts the asynchronous loading of this resource if it hasn't been
+	 * loaded yet.
+	 */
+	public void load() {
+		if (resource == null && !loading) {
+			loading = true;
+			loadResource(new Callback<Resource, Throwable>() {
+				@Override
+				public void onFailure(Throwable reason) {
+					loading = false;
+					GWT.log("Loading of resource " + keyPrefix + " failed",
+						reason);
+
+					for (Runnable handler : failureHandlers) {
+						handler.run();
+					}
+				}
+
+				@Override
+				public void onSuccess(Resource result) {
+					setResource(result);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Must be implemented by subclasses to load the actual resource
+	 * asynchronously, typically from a {@code GWT.runAsync()} split point.
+	 * The loaded resource must be handed to the callback's method
+	 * {@link Callback#onSuccess(Object)}. If loading fails the failure
+	 * handlers will be notified and a later lookup will retry to load the
+	 * resource.
+	 *
+	 * @param callback The callback to be notified of the loading result
+	 */
+	protected abstract void loadResource(
+		Callback<Resource, Throwable> callback);
+
+	/**
+	 * Returns the loaded resource for a certain key and starts the loading if
+	 * the key has the prefix of this resource and the resource has not been
+	 * loaded yet.
+	 *
+	 * @param key The resource key
+	 * @return The loaded resource or NULL if not (yet) available for the key
+	 */
+	private Resource getResource(String key) {
+		if (resource == null && key.startsWith(keyPrefix)) {
+			load();
+		}
+
+		return resource;
+	}
+
+	/**
+	 * Sets the loaded resource and notifies the load handlers.
+	 *
+	 * @param loadedResource The loaded resource
+	 */
+	private void setResource(Resource loadedResource) {
+		List<Runnable> handlers = loadHandlers;
+
+		resource = loadedResource;
+		loading = false;
+		loadHandlers = null;
+
+		for (Runnable handler : handlers) {
+			handler.run();
+		}
+	}
+}
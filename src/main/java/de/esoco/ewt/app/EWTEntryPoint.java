@@ -47,12 +47,23 @@ public abstract class EWTEntryPoint implements EntryPoint {
 
 		EWTModule module = getApplicationModule();
 
-		GwtResource resource =
+		List<AsyncResource> moduleResources = getModuleResources();
+
+		Resource resource =
 			new GwtResource(getStringResources(), getImageResources());
 
+		for (AsyncResource moduleResource : moduleResources) {
+			resource = new ChainedResource(resource, moduleResource);
+		}
+
 		UserInterfaceContext context =
 			EWT.createUserInterfaceContext(resource);
 
+		for (AsyncResource moduleResource : moduleResources) {
+			moduleResource.addLoadHandler(context::clearResourceCache);
+			moduleResource.addFailureHandler(context::clearResourceCache);
+		}
+
 		View moduleView = module.createModuleView(context);
 
 		module.showModuleView(context, moduleView);
@@ -103,6 +114,21 @@ public abstract class EWTEntryPoint implements EntryPoint {
 		return getApplicationImages();
 	}
 
+	/**
+	 * Returns the resources of application modules that are loaded
+	 * asynchronously on first use. These resources will be chained after the
+	 * resources returned by {@link #getStringResources()} and
+	 * {@link #getImageResources()}. Whenever a module resource has been loaded
+	 * the resource cache of the user interface context will be cleared. The
+	 * default implementation returns an empty list that can be modified by
+	 * subclasses.
+	 *
+	 * @return The asynchronous module resources
+	 */
+	protected List<AsyncResource> getModuleResources() {
+		return new ArrayList<>();
+	}
+
 	/**
 	 * Returns a list of {@link ConstantsWithLookup} instances with the
 	 * application's resource string. The default implementation returns an
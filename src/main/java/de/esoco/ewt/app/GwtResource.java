@@ -20,6 +20,7 @@ import de.esoco.ewt.graphics.Image;
 import de.esoco.ewt.graphics.ImageRef;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.MissingResourceException;
 
@@ -39,6 +40,8 @@ public class GwtResource implements Resource {
 
 	private final Map<String, ImageResource> images;
 
+	private final Map<String, Image> imageCache = new HashMap<>();
+
 	/**
 	 * Creates a new instance that only performs string lookups.
 	 *
@@ -61,17 +64,21 @@ public class GwtResource implements Resource {
 	}
 
 	/**
+	 * Returns a shared image instance for the image resource with the given
+	 * key.
+	 *
 	 * @see Resource#getImage(String)
 	 */
 	@Override
 	public Image getImage(String key) {
-		Image image = null;
+		Image image = imageCache.get(key);
 
-		if (images != null) {
+		if (image == null && images != null) {
 			ImageResource imageResource = images.get(key);
 
 			if (imageResource != null) {
 				image = new ImageRef(imageResource);
+				imageCache.put(key, image);
 			}
 		}
 
@@ -0,0 +1,249 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.build;
+
+import de.esoco.ewt.component.Component;
+import de.esoco.ewt.component.Container;
+import de.esoco.ewt.style.StyleData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reconciles the components of a rebuild of a {@link ContainerManager} with
+ * the components of the previous build. Components that have been added with
+ * a key (see {@link ContainerBuilder#key(Object)}) will be reused if a
+ * component of the same type is added with the same key into the same
+ * container. All other components will be disposed (see
+ * {@link Component#dispose()}) when the rebuild starts and created again by
+ * the build code.
+ *
+ * <p>In indexed containers reused components stay in place if their position
+ * doesn't change, else they are moved and new components are inserted at the
+ * current build position. In other containers the reused components are
+ * removed from the layout and added again in the build order.</p>
+ *
+ * <p>Reused components keep their event handlers because these may also
+ * have been registered by the components themselves (e.g. by composites).
+ * Build code can query {@link ContainerBuilder#isReused()} to only register
+ * it's handlers on new components.</p>
+ */
+class ComponentReconciler {
+
+	private Map<Component, ComponentState> componentStates = new HashMap<>();
+
+	private Map<Component, ComponentState> previousStates;
+
+	private Map<Object, Component> reusableComponents;
+
+	private final Map<Container, Integer> buildPositions = new HashMap<>();
+
+	/**
+	 * Starts the rebuild of a container.
+	 *
+	 * @param container The container to rebuild
+	 */
+	void beginRebuild(Container container) {
+		previousStates = componentStates;
+		componentStates = new HashMap<>();
+		reusableComponents = new HashMap<>();
+
+		prepareContainer(container);
+	}
+
+	/**
+	 * Notifies this instance that a new component has been added to a
+	 * container.
+	 *
+	 * @param container The container
+	 * @param component The new component
+	 * @param key       The component key or NULL for none
+	 * @param style     The style data the component has been added with
+	 * @param text      The component text or NULL for none
+	 * @param image     The component image or NULL for none
+	 */
+	void componentAdded(Container container, Component component, Object key,
+		StyleData style, String text, Object image) {
+		if (key != null) {
+			componentStates.put(component,
+				new ComponentState(key, style, text, image));
+		}
+
+		Integer position = buildPositions.get(container);
+
+		if (position != null && position >= 0) {
+			buildPositions.put(container, position + 1);
+		}
+	}
+
+	/**
+	 * Finishes a rebuild by disposing all keyed components that have not been
+	 * reused. In containers that are not indexed these components have
+	 * already been removed from the container when the rebuild started.
+	 */
+	void finishRebuild() {
+		for (Component component : reusableComponents.values()) {
+			component.dispose();
+		}
+
+		for (Container container : buildPositions.keySet()) {
+			container.setNewComponentPosition(-1);
+		}
+
+		buildPositions.clear();
+		previousStates = null;
+		reusableComponents = null;
+	}
+
+	/**
+	 * Prepares the addition of a new component to a container by setting the
+	 * current build position of the container if necessary.
+	 *
+	 * @param container The container
+	 */
+	void prepareAdd(Container container) {
+		Integer position = buildPositions.get(container);
+
+		if (position != null && position >= 0) {
+			container.setNewComponentPosition(position);
+		}
+	}
+
+	/**
+	 * Tries to reuse a component from the previous build.
+	 *
+	 * @param container The container to add the component to
+	 * @param key       The component key or NULL for none
+	 * @param type      The type of the component to add
+	 * @param style     The style data of the component
+	 * @param text      The component text or NULL for none
+	 * @param image     The component image or NULL for none
+	 * @return The reused component or NULL if no component can be reused
+	 */
+	Component reuseComponent(Container container, Object key,
+		Class<? extends Component> type, StyleData style, String text,
+		Object image) {
+		Component component = null;
+
+		if (key != null && reusableComponents != null) {
+			component = reusableComponents.get(key);
+		}
+
+		if (component == null || component.getClass() != type ||
+			component.getParent() != container) {
+			return null;
+		}
+
+		ComponentState state = previousStates.get(component);
+		Integer position = buildPositions.get(container);
+
+		reusableComponents.remove(key);
+
+		if (position == null || position < 0) {
+			container.internalAddComponent(component, style);
+		} else {
+			if (container.getComponents().indexOf(component) == position) {
+				if (!style.equals(state.style)) {
+					component.applyStyle(style);
+				}
+			} else {
+				container.internalRemoveComponent(component);
+				container.setNewComponentPosition(position);
+				container.internalAddComponent(component, style);
+			}
+
+			buildPositions.put(container, position + 1);
+		}
+
+		if (text != null && !text.equals(state.text)) {
+			component.setProperties(text);
+		}
+
+		if (image != null && !image.equals(state.image)) {
+			component.setProperties(image);
+		}
+
+		componentStates.put(component,
+			new ComponentState(key, style, text, image));
+
+		if (component instanceof Container) {
+			prepareContainer((Container) component);
+		}
+
+		return component;
+	}
+
+	/**
+	 * Prepares a container for the rebuild of it's children. Components
+	 * without a key will be disposed, keyed components will be registered for
+	 * reuse. In containers that are not indexed the keyed components will also
+	 * be removed from the layout so that they can be added again in the build
+	 * order.
+	 *
+	 * @param container The container to prepare
+	 */
+	private void prepareContainer(Container container) {
+		boolean indexed = container.isIndexed();
+
+		for (Component child : new ArrayList<>(container.getComponents())) {
+			ComponentState state = previousStates.get(child);
+
+			if (state != null) {
+				reusableComponents.put(state.key, child);
+
+				if (!indexed) {
+					container.internalRemoveComponent(child);
+				}
+			} else {
+				child.dispose();
+			}
+		}
+
+		buildPositions.put(container, indexed ? 0 : -1);
+	}
+
+	/**
+	 * Contains the build parameters of a keyed component.
+	 */
+	private static class ComponentState {
+
+		private final Object key;
+
+		private final StyleData style;
+
+		private final String text;
+
+		private final Object image;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param key   The component key
+		 * @param style The style data the component has been added with
+		 * @param text  The component text
+		 * @param image The component image
+		 */
+		ComponentState(Object key, StyleData style, String text,
+			Object image) {
+			this.key = key;
+			this.style = style;
+			this.text = text;
+			this.image = image;
+		}
+	}
+}
@@ -0,0 +1,193 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.build;
+
+import de.esoco.ewt.component.Component;
+import de.esoco.ewt.component.Container;
+import de.esoco.ewt.component.Panel;
+import de.esoco.ewt.layout.GenericLayout;
+import de.esoco.ewt.layout.TemplateLayout;
+import de.esoco.ewt.style.StyleData;
+import de.esoco.ewt.style.StylePlan;
+
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Style;
+
+/**
+ * A template for the static content of repeatedly displayed UI parts. The
+ * template content is built once with a container builder and the resulting
+ * DOM structure (elements, style classes, and texts) is recorded. Further
+ * instances are then created by cloning the recorded DOM subtree instead of
+ * creating components, widgets, and styles again:
+ *
+ * <pre>
+ * ComponentTemplate orderLine = new ComponentTemplate(new FlowLayout(), b -> {
+ *     b.addLabel(LABEL_STYLE, "$lblQuantity");
+ *     b.addPanel(StyleData.DEFAULT.set(TEMPLATE_SLOT, "quantity"));
+ * });
+ *
+ * ContainerBuilder&lt;Panel&gt; line = orderLine.addTo(builder, LINE_STYLE);
+ *
+ * line.addTextField(StyleData.DEFAULT.set(TEMPLATE_SLOT, "quantity"), "1");
+ * </pre>
+ *
+ * <p>The recorded content is static, i.e. it will not contain components
+ * and therefore no event handling. Interactive components must be added to
+ * the instances with the returned builder. Components in the recorded build
+ * that have the style property {@link TemplateLayout#TEMPLATE_SLOT} define
+ * slots into which components with the same slot property will be placed.
+ * Resource strings in the recorded content are resolved with the context of
+ * the first instance. Element IDs are removed from the recorded content so
+ * that the instances don't contain duplicate IDs.</p>
+ */
+public class ComponentTemplate {
+
+	private final GenericLayout layout;
+
+	private final Consumer<ContainerBuilder<Panel>> content;
+
+	private Element template;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param layout  The layout of the recorded content panel
+	 * @param content The code that builds the static template content
+	 */
+	public ComponentTemplate(GenericLayout layout,
+		Consumer<ContainerBuilder<Panel>> content) {
+		this.layout = layout;
+		this.content = content;
+	}
+
+	/**
+	 * Adds a new instance of this template to a container builder. On the
+	 * first invocation the template content will be built and recorded.
+	 *
+	 * @param builder The builder to add the instance to
+	 * @param style   The style of the instance panel
+	 * @return A container builder for the instance panel that can be used to
+	 * add components to the template slots
+	 */
+	public ContainerBuilder<Panel> addTo(ContainerBuilder<?> builder,
+		StyleData style) {
+		if (template == null) {
+			template = record(builder.getContainer());
+		}
+
+		return builder.addPanel(style, new TemplateLayout(template));
+	}
+
+	/**
+	 * Checks whether the template content has already been recorded.
+	 *
+	 * @return TRUE if the content has been recorded
+	 */
+	public final boolean isRecorded() {
+		return template != null;
+	}
+
+	/**
+	 * Removes the ID attributes from an element and all it's descendants.
+	 *
+	 * @param root The root element
+	 */
+	private static native void removeIds(Element root) /*-{
+		var elements = root.querySelectorAll("[id]");
+
+		root.removeAttribute("id");
+
+		for (var i = 0; i < elements.length; i++) {
+			elements[i].removeAttribute("id");
+		}
+	}-*/;
+
+	/**
+	 * Prepares the elements of all components in a container hierarchy for
+	 * the recording. Elements of components that have a slot name in their
+	 * style are marked as template slots. Because the recording panel is
+	 * never attached the CSS styles of the components which are normally
+	 * applied on attaching are applied directly.
+	 *
+	 * @param container The container
+	 */
+	private void prepareRecording(Container container) {
+		for (Component component : container.getComponents()) {
+			StyleData style = component.getStyle();
+			String slot = style.getProperty(TemplateLayout.TEMPLATE_SLOT, null);
+			StylePlan plan = StylePlan.get(style);
+			String cssText = plan.getCssText();
+			Element element = component.getElement();
+
+			if (slot != null) {
+				element.setAttribute(TemplateLayout.SLOT_ATTRIBUTE, slot);
+			}
+
+			if (cssText != null) {
+				Style elementStyle = element.getStyle();
+				String current = elementStyle.getProperty("cssText");
+
+				if (current != null && !current.isEmpty()) {
+					cssText = current + ";" + cssText;
+				}
+
+				elementStyle.setProperty("cssText", cssText);
+
+				if (plan.hasSeparateCssValues()) {
+					for (Entry<String, String> css :
+						plan.getCssStyles().entrySet()) {
+						if (StylePlan.isSeparateCssValue(css.getValue())) {
+							elementStyle.setProperty(css.getKey(),
+								css.getValue());
+						}
+					}
+				}
+			}
+
+			if (component instanceof Container) {
+				prepareRecording((Container) component);
+			}
+		}
+	}
+
+	/**
+	 * Builds the template content in a detached panel and records the
+	 * resulting DOM structure.
+	 *
+	 * @param parent The container to initialize the recording panel with
+	 * @return The recorded template element
+	 */
+	private Element record(Container parent) {
+		Panel panel = new Panel();
+
+		panel.setLayout(layout);
+		panel.initWidget(parent, StyleData.DEFAULT);
+		panel.applyStyle(StyleData.DEFAULT);
+		content.accept(new ContainerBuilder<>(panel));
+		prepareRecording(panel);
+
+		Element recorded = panel.getElement().cloneNode(true).cast();
+
+		removeIds(recorded);
+		panel.disposeComponents();
+
+		return recorded;
+	}
+}
@@ -23,6 +23,7 @@ import de.esoco.ewt.component.Calendar;
 import de.esoco.ewt.component.CheckBox;
 import de.esoco.ewt.component.ComboBox;
 import de.esoco.ewt.component.Component;
+import de.esoco.ewt.component.ComponentPool;
 import de.esoco.ewt.component.Composite;
 import de.esoco.ewt.component.Container;
 import de.esoco.ewt.component.DateField;
@@ -53,6 +54,11 @@ import de.esoco.lib.property.LayoutType;
 
 import java.util.Date;
 
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Style.Unit;
+
 /**
  * A container builder implementation that provides methods to create components
  * and add them to a container.
@@ -67,6 +73,10 @@ public class ContainerBuilder<C extends Container> {
 
 	private Label formLabel;
 
+	private Object componentKey;
+
+	private boolean componentReused = false;
+
 	/**
 	 * Creates a new instance that builds in a certain container.
 	 *
@@ -109,7 +119,7 @@ public class ContainerBuilder<C extends Container> {
 	public Button addButton(StyleData style, String text, Object image) {
 		Button component = new Button();
 
-		addComponent(component, style, text, image);
+		component = addComponent(component, style, text, image);
 
 		return component;
 	}
@@ -124,7 +134,7 @@ public class ContainerBuilder<C extends Container> {
 	public Calendar addCalendar(StyleData style, Date date) {
 		Calendar component = new Calendar();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 		component.setDate(date);
 
 		return component;
@@ -141,7 +151,7 @@ public class ContainerBuilder<C extends Container> {
 	public CheckBox addCheckBox(StyleData style, String text, Object image) {
 		CheckBox component = new CheckBox();
 
-		addComponent(component, style, text, image);
+		component = addComponent(component, style, text, image);
 
 		return component;
 	}
@@ -156,7 +166,7 @@ public class ContainerBuilder<C extends Container> {
 	public ComboBox addComboBox(StyleData style, String text) {
 		ComboBox component = new ComboBox();
 
-		addComponent(component, style, text, null);
+		component = addComponent(component, style, text, null);
 
 		return component;
 	}
@@ -169,7 +179,7 @@ public class ContainerBuilder<C extends Container> {
 	 * @return The input component, attached to the container
 	 */
 	public <T extends Component> T addComponent(T component, StyleData style) {
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return component;
 	}
@@ -183,7 +193,7 @@ public class ContainerBuilder<C extends Container> {
 	 * @return The input composite, attached to the container
 	 */
 	public <T extends Composite> T addComposite(T composite, StyleData style) {
-		addComponent(composite, style, null, null);
+		composite = addComponent(composite, style, null, null);
 
 		return composite;
 	}
@@ -198,7 +208,7 @@ public class ContainerBuilder<C extends Container> {
 	public DateField addDateField(StyleData style, Date date) {
 		DateField component = new DateField();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 		component.setDate(date);
 
 		return component;
@@ -213,7 +223,7 @@ public class ContainerBuilder<C extends Container> {
 	public ContainerBuilder<DeckPanel> addDeckPanel(StyleData style) {
 		DeckPanel component = new DeckPanel(container, style);
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return new ContainerBuilder<DeckPanel>(component, this);
 	}
@@ -230,7 +240,7 @@ public class ContainerBuilder<C extends Container> {
 		String buttonText) {
 		FileChooser component = new FileChooser(action);
 
-		addComponent(component, style, buttonText, null);
+		component = addComponent(component, style, buttonText, null);
 
 		return component;
 	}
@@ -255,7 +265,7 @@ public class ContainerBuilder<C extends Container> {
 	public Label addLabel(StyleData style, String text, Object image) {
 		Label label = new Label();
 
-		addComponent(label, style, text, image);
+		label = addComponent(label, style, text, image);
 
 		if (label.isFormLabel()) {
 			formLabel = label;
@@ -273,7 +283,7 @@ public class ContainerBuilder<C extends Container> {
 	public List addList(StyleData style) {
 		List component = new List();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return component;
 	}
@@ -287,7 +297,7 @@ public class ContainerBuilder<C extends Container> {
 	public ListBox addListBox(StyleData style) {
 		ListBox component = new ListBox();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return component;
 	}
@@ -335,7 +345,7 @@ public class ContainerBuilder<C extends Container> {
 
 		panel.setLayout(layout);
 
-		addComponent(panel, style, null, null);
+		panel = addComponent(panel, style, null, null);
 
 		return new ContainerBuilder<Panel>(panel, this);
 	}
@@ -349,7 +359,7 @@ public class ContainerBuilder<C extends Container> {
 	public ProgressBar addProgressBar(StyleData style) {
 		ProgressBar component = new ProgressBar();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return component;
 	}
@@ -366,7 +376,7 @@ public class ContainerBuilder<C extends Container> {
 		Object image) {
 		RadioButton component = new RadioButton();
 
-		addComponent(component, style, text, image);
+		component = addComponent(component, style, text, image);
 
 		return component;
 	}
@@ -385,7 +395,7 @@ public class ContainerBuilder<C extends Container> {
 	public ContainerBuilder<ScrollPanel> addScrollPanel(StyleData style) {
 		ScrollPanel component = new ScrollPanel();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return new ContainerBuilder<ScrollPanel>(component, this);
 	}
@@ -403,7 +413,7 @@ public class ContainerBuilder<C extends Container> {
 		int increment) {
 		Spinner spinner = new Spinner();
 
-		addComponent(spinner, style, null, null);
+		spinner = addComponent(spinner, style, null, null);
 
 		spinner.setMinimum(minimum);
 		spinner.setMaximum(maximum);
@@ -421,7 +431,7 @@ public class ContainerBuilder<C extends Container> {
 	public ContainerBuilder<SplitPanel> addSplitPanel(StyleData style) {
 		SplitPanel component = new SplitPanel(container, style);
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return new ContainerBuilder<SplitPanel>(component, this);
 	}
@@ -435,7 +445,7 @@ public class ContainerBuilder<C extends Container> {
 	public ContainerBuilder<StackPanel> addStackPanel(StyleData style) {
 		StackPanel component = new StackPanel(container, style);
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return new ContainerBuilder<StackPanel>(component, this);
 	}
@@ -449,7 +459,7 @@ public class ContainerBuilder<C extends Container> {
 	public ContainerBuilder<TabPanel> addTabPanel(StyleData style) {
 		TabPanel component = new TabPanel(container, style);
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return new ContainerBuilder<TabPanel>(component, this);
 	}
@@ -463,7 +473,7 @@ public class ContainerBuilder<C extends Container> {
 	public Table addTable(StyleData style) {
 		Table component = new Table();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return component;
 	}
@@ -478,7 +488,7 @@ public class ContainerBuilder<C extends Container> {
 	public TextArea addTextArea(StyleData style, String text) {
 		TextArea component = new TextArea();
 
-		addComponent(component, style, text, null);
+		component = addComponent(component, style, text, null);
 
 		return component;
 	}
@@ -493,7 +503,7 @@ public class ContainerBuilder<C extends Container> {
 	public TextField addTextField(StyleData style, String text) {
 		TextField component = new TextField();
 
-		addComponent(component, style, text, null);
+		component = addComponent(component, style, text, null);
 
 		return component;
 	}
@@ -510,7 +520,7 @@ public class ContainerBuilder<C extends Container> {
 		Object image) {
 		ToggleButton component = new ToggleButton();
 
-		addComponent(component, style, text, image);
+		component = addComponent(component, style, text, image);
 
 		return component;
 	}
@@ -524,7 +534,7 @@ public class ContainerBuilder<C extends Container> {
 	public Tree addTree(StyleData style) {
 		Tree component = new Tree();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return component;
 	}
@@ -538,7 +548,7 @@ public class ContainerBuilder<C extends Container> {
 	public TreeTable addTreeTable(StyleData style) {
 		TreeTable component = new TreeTable();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 
 		return component;
 	}
@@ -553,12 +563,68 @@ public class ContainerBuilder<C extends Container> {
 	public Website addWebsite(StyleData style, String url) {
 		Website component = new Website();
 
-		addComponent(component, style, null, null);
+		component = addComponent(component, style, null, null);
 		component.setText(url);
 
 		return component;
 	}
 
+	/**
+	 * Executes code that builds components with this instance while the DOM
+	 * element of the container is removed from the document. This prevents
+	 * the browser from performing layout calculations for each component that
+	 * is added. The element is re-inserted at it's original position when the
+	 * build code has finished, so that the complete subtree is laid out once.
+	 *
+	 * <p>While the build code runs the element is replaced with an empty
+	 * placeholder of the same size so that the scroll positions of the
+	 * enclosing elements are not affected. The scroll positions inside the
+	 * container and the focused element will be restored after the element
+	 * has been re-inserted. The GWT widgets remain logically attached, so
+	 * that styles which are deferred until a component is attached will be
+	 * applied, but widgets can only measure themselves after the
+	 * re-insertion (e.g. through the resize notifications of the {@link
+	 * de.esoco.ewt.impl.gwt.ResizeService}). The build code will be executed
+	 * directly for containers that are not displayed or that are already
+	 * built detached (e.g. by a parent builder).</p>
+	 *
+	 * @param build The code that builds the components
+	 */
+	public void buildDetached(Runnable build) {
+		Element element = container.getElement();
+		Element parentElement = element.getParentElement();
+
+		if (parentElement == null ||
+			!Document.get().getBody().isOrHasChild(element)) {
+			build.run();
+		} else {
+			Element placeholder = Document.get().createDivElement();
+			Element focused = getFocusedElement();
+			JavaScriptObject scrollPositions = getScrollPositions(element);
+
+			if (focused != null && !element.isOrHasChild(focused)) {
+				focused = null;
+			}
+
+			placeholder.getStyle()
+			           .setWidth(element.getOffsetWidth(), Unit.PX);
+			placeholder.getStyle()
+			           .setHeight(element.getOffsetHeight(), Unit.PX);
+			parentElement.replaceChild(placeholder, element);
+
+			try {
+				build.run();
+			} finally {
+				parentElement.replaceChild(element, placeholder);
+				setScrollPositions(scrollPositions);
+
+				if (focused != null && element.isOrHasChild(focused)) {
+					focused.focus();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns the container this builder is initialized with.
 	 *
@@ -589,6 +655,49 @@ public class ContainerBuilder<C extends Container> {
 		return parent;
 	}
 
+	/**
+	 * Checks whether the component that has been returned by the last
+	 * invocation of an add method has been reused from a previous build of a
+	 * {@link ContainerManager}.
+	 *
+	 * @return TRUE if the last added component has been reused
+	 * @see #key(Object)
+	 */
+	public final boolean isReused() {
+		return componentReused;
+	}
+
+	/**
+	 * Sets a key for the next component that will be added with this builder.
+	 * If this builder belongs to a {@link ContainerManager} the key allows the
+	 * manager to reuse the component on a {@link ContainerManager#rebuild()
+	 * rebuild} if a component of the same type is added with the same key to
+	 * the same container. A reused component will be returned by the add
+	 * method instead of a new instance and only changed styles, texts, and
+	 * images will be applied to it. Keys must be unique in the scope of a
+	 * container manager.
+	 *
+	 * <p>Reused components keep their event handlers from the previous build.
+	 * Therefore build code that registers handlers on keyed components must
+	 * check {@link #isReused()} to prevent duplicate registrations:</p>
+	 *
+	 * <pre>
+	 * Button save = builder.key("save").addButton(style, "$btnSave");
+	 *
+	 * if (!builder.isReused()) {
+	 *     save.addEventListener(EventType.ACTION, e -&gt; save());
+	 * }
+	 * </pre>
+	 *
+	 * @param key The key of the next component
+	 * @return This instance for fluent invocations
+	 */
+	public ContainerBuilder<C> key(Object key) {
+		componentKey = key;
+
+		return this;
+	}
+
 	/**
 	 * Convenience method to remove all components from this builder's
 	 * container. See {@link Container#clear()} for details.
@@ -625,30 +734,81 @@ public class ContainerBuilder<C extends Container> {
 	}
 
 	/**
-	 * Internal method to add a component to the container.
+	 * Internal method to add a component to the container. If the component
+	 * can be reused from a previous build of a {@link ContainerManager} (see
+	 * {@link #key(Object)}) the reused component will be returned instead of
+	 * the argument component. The same applies to components that are
+	 * recycled by the {@link ComponentPool}.
 	 *
 	 * @param component The component to add
 	 * @param style     The style data for the component
 	 * @param text      The component text or NULL for none
 	 * @param image     The component image, image resource key, or NULL
+	 * @return The added component
 	 */
-	void addComponent(Component component, StyleData style, String text,
-		Object image) {
-		component.initWidget(container, style);
-		container.internalAddComponent(component, style);
+	@SuppressWarnings("unchecked")
+	<T extends Component> T addComponent(T component, StyleData style,
+		String text, Object image) {
+		ComponentReconciler reconciler = findReconciler();
+		Object key = componentKey;
+		T added = null;
 
-		if (text != null) {
-			component.setProperties(text);
+		componentKey = null;
+
+		if (reconciler != null) {
+			added = (T) reconciler.reuseComponent(container, key,
+				component.getClass(), style, text, image);
 		}
 
-		if (image != null) {
-			component.setProperties(image);
+		componentReused = added != null;
+
+		if (added == null) {
+			if (reconciler != null) {
+				reconciler.prepareAdd(container);
+			}
+
+			added = ComponentPool.initComponent(component, container, style);
+			container.internalAddComponent(added, style);
+
+			if (text != null) {
+				added.setProperties(text);
+			}
+
+			if (image != null) {
+				added.setProperties(image);
+			}
+
+			if (reconciler != null) {
+				reconciler.componentAdded(container, added, key, style, text,
+					image);
+			}
 		}
 
 		if (formLabel != null) {
-			formLabel.setAsLabelFor(component);
+			formLabel.setAsLabelFor(added);
 			formLabel = null;
 		}
+
+		return added;
+	}
+
+	/**
+	 * Returns the component reconciler of the container manager this builder
+	 * belongs to.
+	 *
+	 * @return The reconciler or NULL if this builder doesn't belong to a
+	 * container manager
+	 */
+	ComponentReconciler findReconciler() {
+		ContainerBuilder<?> builder = this;
+
+		while (builder != null && !(builder instanceof ContainerManager)) {
+			builder = builder.parent;
+		}
+
+		return builder != null ?
+		       ((ContainerManager<?>) builder).getReconciler() :
+		       null;
 	}
 
 	/**
@@ -668,4 +828,57 @@ public class ContainerBuilder<C extends Container> {
 	final void setParent(ContainerBuilder<?> parent) {
 		this.parent = parent;
 	}
+
+	/**
+	 * Returns the element of the document that currently has the input focus.
+	 *
+	 * @return The focused element or NULL for none
+	 */
+	private static native Element getFocusedElement() /*-{
+		return $doc.activeElement;
+	}-*/;
+
+	/**
+	 * Returns the scroll positions of an element and of all it's descendants
+	 * that are currently scrolled.
+	 *
+	 * @param root The root element
+	 * @return An array of the scrolled elements and their positions
+	 */
+	private static native JavaScriptObject getScrollPositions(
+		Element root) /*-{
+		var elements = root.querySelectorAll('*');
+		var positions = [];
+
+		if (root.scrollTop || root.scrollLeft) {
+			positions.push([root, root.scrollTop, root.scrollLeft]);
+		}
+
+		for (var i = 0; i < elements.length; i++) {
+			var element = elements[i];
+
+			if (element.scrollTop || element.scrollLeft) {
+				positions.push(
+					[element, element.scrollTop, element.scrollLeft]);
+			}
+		}
+
+		return positions;
+	}-*/;
+
+	/**
+	 * Restores the scroll positions that have been returned by {@link
+	 * #getScrollPositions(Element)}.
+	 *
+	 * @param positions The scroll positions to restore
+	 */
+	private static native void setScrollPositions(
+		JavaScriptObject positions) /*-{
+		for (var i = 0; i < positions.length; i++) {
+			var position = positions[i];
+
+			position[0].scrollTop = position[1];
+			position[0].scrollLeft = position[2];
+		}
+	}-*/;
 }
@@ -32,6 +32,8 @@ public abstract class ContainerManager<C extends Container>
 
 	private StyleData baseStyle;
 
+	private final ComponentReconciler reconciler = new ComponentReconciler();
+
 	/**
 	 * Creates a new instance that manages a certain container type.
 	 */
@@ -87,12 +89,29 @@ public abstract class ContainerManager<C extends Container>
 	}
 
 	/**
-	 * Re-builds the UI of this instance by clearing the managed container and
-	 * invoking {@link #addComponents()}.
+	 * Re-builds the UI of this instance by invoking {@link #addComponents()}
+	 * again. Components that have been added without a key will be removed and
+	 * created anew. Components that have been added with a key (see
+	 * {@link #key(Object)}) will be reused if the same key is used for a
+	 * component of the same type in the same container. Only changed styles,
+	 * texts, and images will be applied to reused components and they will
+	 * only be moved if their position has changed. Keyed components that are
+	 * not added again will be removed at the end of the rebuild.
+	 *
+	 * <p>The components are added with {@link #buildDetached(Runnable)} so
+	 * that the container is only laid out once after the rebuild. The scroll
+	 * positions and the focus of it's content will be preserved.</p>
 	 */
 	public void rebuild() {
-		getContainer().clear();
-		addComponents();
+		buildDetached(() -> {
+			reconciler.beginRebuild(getContainer());
+
+			try {
+				addComponents();
+			} finally {
+				reconciler.finishRebuild();
+			}
+		});
 	}
 
 	/**
@@ -103,6 +122,15 @@ public abstract class ContainerManager<C extends Container>
 		return getClass().getSimpleName() + "[" + getContainer() + "]";
 	}
 
+	/**
+	 * Returns the component reconciler of this instance.
+	 *
+	 * @return The component reconciler
+	 */
+	final ComponentReconciler getReconciler() {
+		return reconciler;
+	}
+
 	/**
 	 * Must be implemented by subclasses to add the components in the container
 	 * by invoking the corresponding add methods in this instance.
@@ -145,7 +145,7 @@ public class Button extends Control implements TextAttribute, ImageAttribute {
 			if (widget instanceof PushButton &&
 				(text == null || text.length() == 0)) {
 				com.google.gwt.user.client.ui.Image gwtImage =
-					bitmap.getGwtImage();
+					bitmap.createGwtImage();
 
 				PushButton pushButton = (PushButton) widget;
 
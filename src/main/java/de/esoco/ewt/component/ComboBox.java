@@ -155,14 +155,18 @@ public class ComboBox extends TextControl
 	 */
 	@Override
 	public void initWidget(Container parent, StyleData style) {
+		boolean recycled = getWidget() != null;
+
 		super.initWidget(parent, style);
 
 		multiselect = style.hasFlag(StyleFlag.MULTISELECT);
 
-		IsTextControlWidget textBox = getTextBox();
+		if (!recycled) {
+			IsTextControlWidget textBox = getTextBox();
 
-		textBox.addKeyDownHandler(this);
-		textBox.addDoubleClickHandler(this);
+			textBox.addKeyDownHandler(this);
+			textBox.addDoubleClickHandler(this);
+		}
 	}
 
 	/**
@@ -53,7 +53,6 @@ import com.google.gwt.event.dom.client.MouseUpHandler;
 import com.google.gwt.event.dom.client.MouseWheelEvent;
 import com.google.gwt.event.dom.client.MouseWheelHandler;
 import com.google.gwt.event.logical.shared.AttachEvent;
-import com.google.gwt.event.logical.shared.AttachEvent.Handler;
 import com.google.gwt.event.logical.shared.HasValueChangeHandlers;
 import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
@@ -79,6 +78,7 @@ import de.esoco.ewt.event.EwtEvent;
 import de.esoco.ewt.event.EwtEventHandler;
 import de.esoco.ewt.graphics.Image;
 import de.esoco.ewt.graphics.ImageRef;
+import de.esoco.ewt.impl.gwt.EventDispatchMonitor;
 import de.esoco.ewt.impl.gwt.EventMulticaster;
 import de.esoco.ewt.impl.gwt.GewtEventDispatcher;
 import de.esoco.ewt.impl.gwt.WidgetFactory;
@@ -86,21 +86,25 @@ import de.esoco.ewt.impl.gwt.WidgetStyleHandler;
 import de.esoco.ewt.property.ImageAttribute;
 import de.esoco.ewt.style.AlignedPosition;
 import de.esoco.ewt.style.StyleData;
+import de.esoco.ewt.style.StylePlan;
 import de.esoco.lib.property.ActiveState;
 import de.esoco.lib.property.Alignment;
 import de.esoco.lib.property.Color;
 import de.esoco.lib.property.HasId;
 import de.esoco.lib.property.TextAttribute;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
-import static de.esoco.lib.property.ContentProperties.ELEMENT_ID;
 import static de.esoco.lib.property.StateProperties.ACTION_EVENT_ON_ACTIVATION_ONLY;
 import static de.esoco.lib.property.StateProperties.NO_EVENT_PROPAGATION;
-import static de.esoco.lib.property.StyleProperties.CSS_STYLES;
 
 /**
  * This is the base class for all GEWT components.
@@ -116,10 +120,16 @@ public abstract class Component implements HasId<String> {
 	private static final String PROPERTY_PREFIX_CHARS =
 		"~#" + COMPOUND_PROPERTY_CHARS;
 
+	private static final String[] NO_STYLES = new String[0];
+
 	private static int nextId = 1;
 
+	private static int liveEventRegistrations = 0;
+
 	private static WidgetStyleHandler widgetStyleHandler = null;
 
+	private static EventDispatchMonitor eventDispatchMonitor = null;
+
 	private static BiConsumer<Component, String> applyComponentErrorState =
 		Component::applyComponentErrorState;
 
@@ -137,7 +147,23 @@ public abstract class Component implements HasId<String> {
 
 	private ComponentEventDispatcher eventDispatcher;
 
-	private String[] additionalStyles;
+	private String[] additionalStyles = NO_STYLES;
+
+	private String initialClassName;
+
+	private String[] initialStyleNames;
+
+	private String defaultStyleName;
+
+	private List<String> addedStyleNames;
+
+	private List<String> removedStyleNames;
+
+	private StylePlan cssPlan;
+
+	private Map<String, String> appliedCssStyles;
+
+	private HandlerRegistration pendingCssRegistration;
 
 	/**
 	 * The default implementation to set or remove the error state for a
@@ -178,7 +204,7 @@ public abstract class Component implements HasId<String> {
 	public static String createImageLabel(String text, ImageRef image,
 		AlignedPosition textPosition,
 		HorizontalAlignmentConstant horizontalAlignment, String width) {
-		com.google.gwt.user.client.ui.Image gwtImage = image.getGwtImage();
+		com.google.gwt.user.client.ui.Image gwtImage = image.createGwtImage();
 		Widget labelWidget = gwtImage;
 
 		boolean horizontal =
@@ -225,6 +251,34 @@ public abstract class Component implements HasId<String> {
 		return labelWidget.getElement().getString();
 	}
 
+	/**
+	 * Returns the number of native event handler registrations of all
+	 * components that are currently alive. This is intended for debugging
+	 * purposes to detect leaking event handlers. If this count grows while the
+	 * number of components in the active views doesn't the handlers of removed
+	 * components have not been released.
+	 *
+	 * @return The number of live event handler registrations
+	 * @see View#getEventRegistrationReport()
+	 */
+	public static int getLiveEventRegistrationCount() {
+		return liveEventRegistrations;
+	}
+
+	/**
+	 * Sets a global monitor that will be invoked for each dispatch of an
+	 * event
+	 * to a component's event handler. This can be used to collect metrics
+	 * about event handling, e.g. with an instance of
+	 * {@link de.esoco.ewt.impl.gwt.EventDispatchMetrics}.
+	 *
+	 * @param monitor The event dispatch monitor or NULL to disable
+	 *                monitoring
+	 */
+	public static void setEventDispatchMonitor(EventDispatchMonitor monitor) {
+		eventDispatchMonitor = monitor;
+	}
+
 	/**
 	 * Sets a global handler to apply error states to component widgets.
 	 *
@@ -271,6 +325,20 @@ public abstract class Component implements HasId<String> {
 	 */
 	public void addStyleName(String style) {
 		getWidget().addStyleName(style);
+
+		if (removedStyleNames != null) {
+			removedStyleNames.remove(style);
+		}
+
+		if (addedStyleNames == null) {
+			addedStyleNames = new ArrayList<>(1);
+		}
+
+		if (!addedStyleNames.contains(style)) {
+			addedStyleNames.add(style);
+		}
+
+		ComponentIndex.styleNameAdded(this, style);
 	}
 
 	/**
@@ -285,21 +353,26 @@ public abstract class Component implements HasId<String> {
 	 * @param newStyle The style to apply to this instance
 	 */
 	public void applyStyle(StyleData newStyle) {
+		StyleData previousStyle = style;
+
 		style = newStyle;
 
-		String id = style.getProperty(ELEMENT_ID, null);
+		StylePlan plan = StylePlan.get(style);
+		String id = plan.getElementId();
 
 		if (id != null) {
 			getWidget().getElement().setId(id);
 		}
 
-		applyStyleNames(style);
-		applyAlignments(style);
-		applyCssStyles(style);
+		applyStyleNames(plan);
+		applyAlignments(plan);
+		applyCssStyles(plan);
 
 		if (widgetStyleHandler != null) {
 			widgetStyleHandler.applyWidgetStyle(this, newStyle);
 		}
+
+		ComponentIndex.styleChanged(this, previousStyle);
 	}
 
 	/**
@@ -334,6 +407,28 @@ public abstract class Component implements HasId<String> {
 		return getContext().createImage(imageReference);
 	}
 
+	/**
+	 * Disposes this component after it is no longer needed. The component
+	 * will be removed from it's container if it is still contained in it and
+	 * it's widget will be detached. Then the component will be released, i.e.
+	 * all it's event handlers and the keyboard shortcuts that are scoped to
+	 * it (and those of it's children) are removed. Finally it may be recycled
+	 * by the {@link ComponentPool}. A disposed component must not be used
+	 * again. Components that are only removed from their container with
+	 * {@link Container#removeComponent(Component)} or {@link Container#clear()}
+	 * are not released and can be added to a container again.
+	 */
+	public void dispose() {
+		if (parent != null) {
+			parent.removeComponent(this);
+		}
+
+		getWidget().removeFromParent();
+		ComponentIndex.componentRemoved(this);
+		release();
+		ComponentPool.recycle(this);
+	}
+
 	/**
 	 * Returns the background color of this component.
 	 *
@@ -492,7 +587,10 @@ public abstract class Component implements HasId<String> {
 
 	/**
 	 * Internal method to create and initialize the GWT widget of this instance
-	 * with the widget factory from {@link EWT#getWidgetFactory(Class)}.
+	 * with the widget factory from {@link EWT#getWidgetFactory(Class)}. If
+	 * the component is recycled by the {@link ComponentPool} it's existing
+	 * widget will be kept so that subclasses only need to initialize it again
+	 * for the new parent and style.
 	 *
 	 * @param parent The parent container of the widget
 	 * @param style  The style data of this instance
@@ -504,7 +602,11 @@ public abstract class Component implements HasId<String> {
 		this.parent = parent;
 		this.style = style;
 
-		setWidget(createWidget(style));
+		if (isWidget == null) {
+			setWidget(createWidget(style));
+			initialClassName = getElement().getClassName();
+			initialStyleNames = null;
+		}
 	}
 
 	/**
@@ -551,6 +653,20 @@ public abstract class Component implements HasId<String> {
 	 */
 	public void removeStyleName(String style) {
 		getWidget().removeStyleName(style);
+
+		if (addedStyleNames != null) {
+			addedStyleNames.remove(style);
+		}
+
+		if (removedStyleNames == null) {
+			removedStyleNames = new ArrayList<>(1);
+		}
+
+		if (!removedStyleNames.contains(style)) {
+			removedStyleNames.add(style);
+		}
+
+		ComponentIndex.styleNameRemoved(this, style);
 	}
 
 	/**
@@ -791,16 +907,47 @@ public abstract class Component implements HasId<String> {
 
 	/**
 	 * Applies the CSS styles from the given map to the DOM element of this
-	 * component.
+	 * component. The styles replace the CSS styles that have been applied by
+	 * a previous invocation. All styles are written to the element in a
+	 * single operation, with the exception of values that must be set
+	 * separately (see {@link StylePlan#isSeparateCssValue(String)}).
 	 *
 	 * @param cssStyles A mapping from CSS style names to style values
 	 */
 	protected void applyCssStyles(Map<String, String> cssStyles) {
+		if (cssStyles.equals(appliedCssStyles)) {
+			return;
+		}
+
 		Style elementStyle = getElement().getStyle();
+		String cssText;
+		boolean separateValues;
+
+		if (appliedCssStyles != null) {
+			for (String property : appliedCssStyles.keySet()) {
+				elementStyle.clearProperty(property);
+			}
+		}
 
-		for (Entry<String, String> css : cssStyles.entrySet()) {
-			elementStyle.setProperty(css.getKey(), css.getValue());
+		if (cssPlan != null && cssPlan.getCssStyles() == cssStyles) {
+			cssText = cssPlan.getCssText();
+			separateValues = cssPlan.hasSeparateCssValues();
+		} else {
+			cssText = StylePlan.createCssText(cssStyles);
+			separateValues = true;
 		}
+
+		applyCssText(cssText);
+
+		if (separateValues) {
+			for (Entry<String, String> css : cssStyles.entrySet()) {
+				if (StylePlan.isSeparateCssValue(css.getValue())) {
+					elementStyle.setProperty(css.getKey(), css.getValue());
+				}
+			}
+		}
+
+		appliedCssStyles = cssStyles.isEmpty() ? null : cssStyles;
 	}
 
 	/**
@@ -858,6 +1005,85 @@ public abstract class Component implements HasId<String> {
 		return textPosition;
 	}
 
+	/**
+	 * Appends the event types for which this component has native event
+	 * handler registrations to a report string.
+	 *
+	 * @param report The string builder to append the report to
+	 * @return The number of registrations of this component
+	 */
+	int appendEventRegistrations(StringBuilder report) {
+		int count = 0;
+
+		if (eventDispatcher != null) {
+			Set<EventType> eventTypes =
+				eventDispatcher.getRegisteredEventTypes();
+
+			count = eventTypes.size();
+
+			if (count > 0) {
+				report.append(this).append(": ").append(eventTypes);
+				report.append('\n');
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Collects the style names of this component's widget without reading
+	 * them from the DOM. These are the names that the widget had after it's
+	 * creation (with the primary name replaced by the web style or the
+	 * default style name), the dependent style name, the additional style
+	 * names from the style data (both with and without CSS class mappings),
+	 * and the names that have been added with {@link #addStyleName(String)}.
+	 * Names that have been removed with {@link #removeStyleName(String)} are
+	 * excluded. Names that are set directly on the GWT widget are not
+	 * considered. Used by the {@link ComponentIndex}.
+	 *
+	 * @param names The collection to add the style names to
+	 */
+	void collectStyleNames(Collection<String> names) {
+		StylePlan plan = style != null ? StylePlan.get(style) : null;
+		String[] initialNames = getInitialStyleNames();
+		String primaryName = plan != null ? plan.getWebStyle() : null;
+
+		if (primaryName == null) {
+			primaryName = defaultStyleName;
+		}
+
+		if (primaryName == null && initialNames.length > 0) {
+			primaryName = initialNames[0];
+		}
+
+		if (primaryName != null) {
+			names.add(primaryName);
+		}
+
+		for (int i = 1; i < initialNames.length; i++) {
+			names.add(initialNames[i]);
+		}
+
+		if (plan != null) {
+			String dependentName = plan.getWebDependentStyle();
+
+			if (dependentName != null && primaryName != null) {
+				names.add(primaryName + "-" + dependentName);
+			}
+
+			Collections.addAll(names, plan.getAdditionalStyles());
+			Collections.addAll(names, plan.getUnmappedAdditionalStyles());
+		}
+
+		if (addedStyleNames != null) {
+			names.addAll(addedStyleNames);
+		}
+
+		if (removedStyleNames != null) {
+			names.removeAll(removedStyleNames);
+		}
+	}
+
 	/**
 	 * This method must be overridden by subclasses that support additional
 	 * event types. The return value must be an instance of a subclass of the
@@ -936,11 +1162,68 @@ public abstract class Component implements HasId<String> {
 		EwtEventHandler handler = getEventListener(eventType);
 
 		if (handler != null) {
-			handler.handleEvent(
-				EwtEvent.getEvent(this, element, eventType, nativeEvent));
+			EwtEvent event =
+				EwtEvent.getEvent(this, element, eventType, nativeEvent);
+
+			if (eventDispatchMonitor != null) {
+				eventDispatchMonitor.monitorDispatch(this, eventType,
+					() -> handler.handleEvent(event));
+			} else {
+				handler.handleEvent(event);
+			}
+		}
+	}
+
+	/**
+	 * Releases the resources of this component when it is disposed. This
+	 * removes all native event handler registrations of the component widget
+	 * and all keyboard shortcuts that are scoped to this component. Invoked
+	 * by {@link #dispose()} and {@link View#dispose()}.
+	 */
+	void release() {
+		UserInterfaceContext context = getContext();
+
+		if (eventDispatcher != null) {
+			eventDispatcher.releaseEventDispatching();
+			eventDispatcher = null;
+		}
+
+		if (context != null) {
+			context.removeShortcuts(this);
 		}
 	}
 
+	/**
+	 * Resets the state of this component that depends on it's previous use
+	 * before it is pooled by the {@link ComponentPool}. This removes the
+	 * widget from it's parent, clears the element ID and the inline styles,
+	 * restores the style names that the widget had after it's creation, and
+	 * removes the references to the parent container and the context so that
+	 * they can be garbage collected.
+	 */
+	void resetForRecycling() {
+		Widget widget = getWidget();
+		Element element = widget.getElement();
+
+		widget.removeFromParent();
+		element.removeAttribute("id");
+		element.getStyle().setProperty("cssText", "");
+		element.setClassName(initialClassName);
+		additionalStyles = NO_STYLES;
+		addedStyleNames = null;
+		removedStyleNames = null;
+
+		if (pendingCssRegistration != null) {
+			pendingCssRegistration.removeHandler();
+			pendingCssRegistration = null;
+		}
+
+		cssPlan = null;
+		appliedCssStyles = null;
+		parent = null;
+		context = null;
+	}
+
 	/**
 	 * Sets the default style name of this component.
 	 *
@@ -948,6 +1231,9 @@ public abstract class Component implements HasId<String> {
 	 */
 	void setDefaultStyleName(String defaultStyleName) {
 		getWidget().setStylePrimaryName(defaultStyleName);
+
+		this.defaultStyleName = defaultStyleName;
+		ComponentIndex.styleNamesChanged(this);
 	}
 
 	/**
@@ -1016,25 +1302,24 @@ public abstract class Component implements HasId<String> {
 	}
 
 	/**
-	 * Applies any alignments that are set in the given {@link StyleData} to
-	 * the
-	 * underlying GWT widget.
+	 * Applies the alignments of a {@link StylePlan} to the underlying GWT
+	 * widget.
 	 *
-	 * @param style The style data
+	 * @param plan The style plan
 	 */
-	private void applyAlignments(StyleData style) {
+	private void applyAlignments(StylePlan plan) {
 		Widget widget = getWidget();
 
 		if (widget instanceof HasHorizontalAlignment) {
 			HorizontalAlignmentConstant alignment =
-				style.mapHorizontalAlignment();
+				plan.getHorizontalAlignment();
 
 			if (alignment != null) {
 				((HasHorizontalAlignment) widget).setHorizontalAlignment(
 					alignment);
 			}
 		} else if (widget instanceof TextBoxBase) {
-			TextAlignment alignment = style.mapTextAlignment();
+			TextAlignment alignment = plan.getTextAlignment();
 
 			if (alignment != null) {
 				((TextBoxBase) widget).setAlignment(alignment);
@@ -1042,7 +1327,7 @@ public abstract class Component implements HasId<String> {
 		}
 
 		if (widget instanceof HasVerticalAlignment) {
-			VerticalAlignmentConstant alignment = style.mapVerticalAlignment();
+			VerticalAlignmentConstant alignment = plan.getVerticalAlignment();
 
 			if (alignment != null) {
 				((HasVerticalAlignment) widget).setVerticalAlignment(alignment);
@@ -1051,64 +1336,114 @@ public abstract class Component implements HasId<String> {
 	}
 
 	/**
-	 * Applies any CSS styles that are set in the given {@link StyleData} to
-	 * the
-	 * DOM element of the underlying GWT widget.
-	 *
-	 * @param style The style data
+	 * Applies the CSS styles of a {@link StylePlan} to the DOM element of the
+	 * underlying GWT widget. If the widget is not attached the styles will be
+	 * applied when it is attached. Only the styles of the last plan applied
+	 * before attaching will be used. The styles are applied through
+	 * {@link #applyCssStyles(Map)} which uses the pre-compiled declarations
+	 * of the plan. If the plan has no CSS styles the previously applied
+	 * styles will be removed.
+	 *
+	 * @param plan The style plan
 	 */
-	private void applyCssStyles(StyleData style) {
-		final Map<String, String> cssStyles =
-			style.getProperty(CSS_STYLES, null);
+	private void applyCssStyles(StylePlan plan) {
+		Map<String, String> cssStyles = plan.getCssStyles();
+
+		if (cssStyles != null || appliedCssStyles != null) {
+			cssPlan = plan;
 
-		if (cssStyles != null) {
 			if (getWidget().isAttached()) {
-				applyCssStyles(cssStyles);
-			} else {
-				getWidget().addAttachHandler(new Handler() {
-					@Override
-					public void onAttachOrDetach(AttachEvent event) {
-						applyCssStyles(cssStyles);
-					}
-				});
+				applyCssStyles(
+					cssStyles != null ? cssStyles : Collections.emptyMap());
+			} else if (pendingCssRegistration == null) {
+				pendingCssRegistration =
+					getWidget().addAttachHandler(this::applyPendingCss);
+			}
+		}
+	}
+
+	/**
+	 * Appends CSS declarations to the inline style of this component's DOM
+	 * element with a single write. Declarations for properties that are
+	 * already set will override the existing values.
+	 *
+	 * @param cssText The CSS declarations to apply
+	 */
+	private void applyCssText(String cssText) {
+		if (!cssText.isEmpty()) {
+			Style elementStyle = getElement().getStyle();
+			String currentCssText = elementStyle.getProperty("cssText");
+
+			if (currentCssText != null && !currentCssText.isEmpty()) {
+				cssText = currentCssText + ";" + cssText;
+			}
+
+			elementStyle.setProperty("cssText", cssText);
+		}
+	}
+
+	/**
+	 * Applies CSS styles that have been set while the widget was not
+	 * attached.
+	 *
+	 * @param event The attach event
+	 */
+	private void applyPendingCss(AttachEvent event) {
+		if (event.isAttached()) {
+			pendingCssRegistration.removeHandler();
+			pendingCssRegistration = null;
+
+			if (cssPlan != null) {
+				applyCssStyles(cssPlan);
 			}
 		}
 	}
 
 	/**
-	 * Applies any style names that are set in the given {@link StyleData} to
-	 * the underlying GWT widget.
+	 * Applies the style names of a {@link StylePlan} to the underlying GWT
+	 * widget. Only the differences between the additional styles that have
+	 * been applied previously and those of the plan will be updated.
 	 *
-	 * @param styleData The style data
+	 * @param plan The style plan
 	 */
-	private void applyStyleNames(StyleData styleData) {
+	private void applyStyleNames(StylePlan plan) {
 		Widget widget = getWidget();
 		assert widget != null;
 
-		String webStyle = styleData.getProperty(StyleData.WEB_STYLE, null);
-		String webDependentStyle =
-			styleData.getProperty(StyleData.WEB_DEPENDENT_STYLE, null);
-		String webAdditionalStyles =
-			styleData.getProperty(StyleData.WEB_ADDITIONAL_STYLES, null);
+		String webStyle = plan.getWebStyle();
+		String webDependentStyle = plan.getWebDependentStyle();
+		String[] newStyles = plan.getAdditionalStyles();
 
 		if (webStyle != null) {
 			widget.setStylePrimaryName(webStyle);
+
+			if (removedStyleNames != null) {
+				removedStyleNames.remove(webStyle);
+			}
 		}
 
-		if (additionalStyles != null) {
+		if (additionalStyles != newStyles) {
 			for (String style : additionalStyles) {
-				widget.removeStyleName(EWT.mapCssClass(style));
-			}
+				if (!containsStyle(newStyles, style)) {
+					widget.removeStyleName(style);
 
-			additionalStyles = null;
-		}
+					if (addedStyleNames != null) {
+						addedStyleNames.remove(style);
+					}
+				}
+			}
 
-		if (webAdditionalStyles != null) {
-			additionalStyles = webAdditionalStyles.split("\\s+");
+			for (String style : newStyles) {
+				if (!containsStyle(additionalStyles, style)) {
+					widget.addStyleName(style);
 
-			for (String style : additionalStyles) {
-				widget.addStyleName(EWT.mapCssClass(style));
+					if (removedStyleNames != null) {
+						removedStyleNames.remove(style);
+					}
+				}
 			}
+
+			additionalStyles = newStyles;
 		}
 
 		if (webDependentStyle != null) {
@@ -1116,6 +1451,41 @@ public abstract class Component implements HasId<String> {
 		}
 	}
 
+	/**
+	 * Checks whether an array of style names contains a certain style.
+	 *
+	 * @param styles The style names
+	 * @param style  The style to check for
+	 * @return TRUE if the style is contained in the array
+	 */
+	private boolean containsStyle(String[] styles, String style) {
+		for (String existingStyle : styles) {
+			if (existingStyle.equals(style)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the style names that the widget of this component had after
+	 * it's creation. The names will be determined on the first invocation.
+	 *
+	 * @return The initial style names (empty for none)
+	 */
+	private String[] getInitialStyleNames() {
+		if (initialStyleNames == null) {
+			String className =
+				initialClassName != null ? initialClassName.trim() : "";
+
+			initialStyleNames =
+				className.isEmpty() ? NO_STYLES : className.split("\\s+");
+		}
+
+		return initialStyleNames;
+	}
+
 	/**
 	 * This is the base class for event dispatcher implementations that forward
 	 * GWT events to GEWT listeners. This base class implementation already
@@ -1395,6 +1765,7 @@ public abstract class Component implements HasId<String> {
 
 				if (registration != null) {
 					handlerRegistrations.put(eventType, registration);
+					liveEventRegistrations++;
 				}
 			}
 		}
@@ -1412,7 +1783,33 @@ public abstract class Component implements HasId<String> {
 		}
 
 		/**
-		 * Removes an event handler for a certain event type.
+		 * Returns the event types for which native event handlers are
+		 * registered.
+		 *
+		 * @return The registered event types
+		 */
+		Set<EventType> getRegisteredEventTypes() {
+			return handlerRegistrations.keySet();
+		}
+
+		/**
+		 * Removes all event handlers and native event handler registrations.
+		 */
+		void releaseEventDispatching() {
+			for (HandlerRegistration registration :
+				handlerRegistrations.values()) {
+				registration.removeHandler();
+			}
+
+			liveEventRegistrations -= handlerRegistrations.size();
+			handlerRegistrations.clear();
+			eventHandlers.clear();
+		}
+
+		/**
+		 * Removes an event handler for a certain event type. If it was the
+		 * last handler for the event type the native event handler
+		 * registration will be removed too.
 		 *
 		 * @param eventType The event type the handler shall be unregistered
 		 *                  for
@@ -1420,17 +1817,22 @@ public abstract class Component implements HasId<String> {
 		 */
 		void stopEventDispatching(EventType eventType,
 			EwtEventHandler handler) {
-			{
-				EwtEventHandler handlerChain = getEventHandler(eventType);
+			EwtEventHandler handlerChain = getEventHandler(eventType);
+
+			if (handlerChain != null) {
+				handlerChain = EventMulticaster.remove(handlerChain, handler);
 
 				if (handlerChain != null) {
-					handlerChain =
-						EventMulticaster.remove(handlerChain, handler);
+					eventHandlers.put(eventType, handlerChain);
+				} else {
+					HandlerRegistration registration =
+						handlerRegistrations.remove(eventType);
+
+					eventHandlers.remove(eventType);
 
-					if (handlerChain != null) {
-						eventHandlers.put(eventType, handlerChain);
-					} else {
-						eventHandlers.remove(eventType);
+					if (registration != null) {
+						registration.removeHandler();
+						liveEventRegistrations--;
 					}
 				}
 			}
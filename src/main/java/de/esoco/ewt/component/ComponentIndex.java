@@ -0,0 +1,434 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.component;
+
+import de.esoco.ewt.style.StyleData;
+import de.esoco.ewt.style.StylePlan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An index of the components of a view by their style names and element IDs.
+ * The index of a view is created on the first lookup and afterwards
+ * maintained when components are added to or removed from containers, when
+ * their style data changes, and when style names are added or removed with
+ * {@link Component#addStyleName(String)} and
+ * {@link Component#removeStyleName(String)}. The index keys are determined
+ * without reading the DOM (see
+ * {@link Component#collectStyleNames(java.util.Collection)}). Additional
+ * styles from the style data are indexed both with and without their CSS
+ * class mapping. Style names that are set directly on the GWT widgets are
+ * not indexed.
+ *
+ * <p>Element IDs are stored with the prefix '#' in the same map as the style
+ * names which cannot contain this character.</p>
+ */
+final class ComponentIndex {
+
+	private static boolean active = false;
+
+	private final Map<String, List<Component>> keyIndex = new HashMap<>();
+
+	private final Map<Component, String[]> componentKeys = new HashMap<>();
+
+	/**
+	 * Creates a new index for the components of a view.
+	 *
+	 * @param view The view to index
+	 */
+	ComponentIndex(View view) {
+		active = true;
+
+		for (Component child : view.getComponents()) {
+			addHierarchy(child);
+		}
+	}
+
+	/**
+	 * Notifies the index of a component's view that a component has been
+	 * added to a container.
+	 *
+	 * @param component The added component
+	 */
+	static void componentAdded(Component component) {
+		ComponentIndex index = getIndex(component);
+
+		if (index != null) {
+			index.addHierarchy(component);
+		}
+	}
+
+	/**
+	 * Notifies the index of a component's view that a component has been
+	 * removed from a container.
+	 *
+	 * @param component The removed component
+	 */
+	static void componentRemoved(Component component) {
+		ComponentIndex index = getIndex(component);
+
+		if (index != null) {
+			index.removeHierarchy(component);
+		}
+	}
+
+	/**
+	 * Searches a container hierarchy for a component with a certain key by
+	 * scanning all components. Used for containers that are not part of a
+	 * view.
+	 *
+	 * @param container The container to search
+	 * @param key       The style name or element ID (with prefix '#')
+	 * @return The first matching component or NULL for none
+	 */
+	static Component scan(Container container, String key) {
+		for (Component child : container.getComponents()) {
+			if (containsKey(getKeys(child), key)) {
+				return child;
+			}
+		}
+
+		for (Component child : container.getComponents()) {
+			if (child instanceof Container) {
+				Component result = scan((Container) child, key);
+
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Notifies the index of a component's view that the style of the
+	 * component has changed. Components that have not been indexed yet and
+	 * style changes that don't affect the indexed style names and the element
+	 * ID will be ignored.
+	 *
+	 * @param component     The component
+	 * @param previousStyle The previous style of the component
+	 */
+	static void styleChanged(Component component, StyleData previousStyle) {
+		if (active && !hasSameKeys(previousStyle, component.getStyle())) {
+			styleNamesChanged(component);
+		}
+	}
+
+	/**
+	 * Notifies the index of a component's view that a style name has been
+	 * added to a component.
+	 *
+	 * @param component The component
+	 * @param styleName The added style name
+	 */
+	static void styleNameAdded(Component component, String styleName) {
+		ComponentIndex index = getIndex(component);
+
+		if (index != null) {
+			index.addKey(component, styleName);
+		}
+	}
+
+	/**
+	 * Notifies the index of a component's view that a style name has been
+	 * removed from a component.
+	 *
+	 * @param component The component
+	 * @param styleName The removed style name
+	 */
+	static void styleNameRemoved(Component component, String styleName) {
+		ComponentIndex index = getIndex(component);
+
+		if (index != null) {
+			index.removeKey(component, styleName);
+		}
+	}
+
+	/**
+	 * Notifies the index of a component's view that the style names of the
+	 * component have changed so that all it's keys must be updated.
+	 * Components that have not been indexed yet will be ignored.
+	 *
+	 * @param component The component
+	 */
+	static void styleNamesChanged(Component component) {
+		ComponentIndex index = getIndex(component);
+
+		if (index != null && index.componentKeys.containsKey(component)) {
+			index.add(component);
+		}
+	}
+
+	/**
+	 * Checks whether an array of keys contains a certain key.
+	 *
+	 * @param keys The keys
+	 * @param key  The key to search
+	 * @return TRUE if the key has been found
+	 */
+	private static boolean containsKey(String[] keys, String key) {
+		for (String existing : keys) {
+			if (existing.equals(key)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the index of the view of a component if indexing is active.
+	 *
+	 * @param component The component
+	 * @return The index or NULL for none
+	 */
+	private static ComponentIndex getIndex(Component component) {
+		if (!active) {
+			return null;
+		}
+
+		View view = component.getView();
+
+		return view != null ? view.getComponentIndex(false) : null;
+	}
+
+	/**
+	 * Returns the index keys of a component, i.e. it's style names and the
+	 * element ID from it's style data.
+	 *
+	 * @param component The component
+	 * @return The component keys
+	 */
+	private static String[] getKeys(Component component) {
+		Set<String> keys = new LinkedHashSet<>();
+		StyleData style = component.getStyle();
+
+		component.collectStyleNames(keys);
+
+		if (style != null) {
+			String id = StylePlan.get(style).getElementId();
+
+			if (id != null) {
+				keys.add("#" + id);
+			}
+		}
+
+		return keys.toArray(new String[keys.size()]);
+	}
+
+	/**
+	 * Checks whether two styles have the same index keys.
+	 *
+	 * @param first  The first style (may be NULL)
+	 * @param second The second style (may be NULL)
+	 * @return TRUE if the index keys of the styles are equal
+	 */
+	private static boolean hasSameKeys(StyleData first, StyleData second) {
+		if (first == second) {
+			return true;
+		} else if (first == null || second == null) {
+			return false;
+		}
+
+		StylePlan plan = StylePlan.get(first);
+		StylePlan otherPlan = StylePlan.get(second);
+
+		return plan == otherPlan ||
+			(Objects.equals(plan.getWebStyle(), otherPlan.getWebStyle()) &&
+				Objects.equals(plan.getWebDependentStyle(),
+					otherPlan.getWebDependentStyle()) &&
+				Objects.equals(plan.getElementId(), otherPlan.getElementId()) &&
+				Arrays.equals(plan.getAdditionalStyles(),
+					otherPlan.getAdditionalStyles()) &&
+				Arrays.equals(plan.getUnmappedAdditionalStyles(),
+					otherPlan.getUnmappedAdditionalStyles()));
+	}
+
+	/**
+	 * Returns the first indexed component with a certain key that is a child
+	 * in the hierarchy of a container.
+	 *
+	 * @param container The container to search
+	 * @param key       The style name or element ID (with prefix '#')
+	 * @return The matching component or NULL for none
+	 */
+	Component find(Container container, String key) {
+		List<Component> components = keyIndex.get(key);
+
+		if (components != null) {
+			for (Component component : components) {
+				if (container instanceof View ||
+					isChildOf(component, container)) {
+					return component;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Adds or updates the index entries of a single component.
+	 *
+	 * @param component The component
+	 */
+	private void add(Component component) {
+		String[] keys = getKeys(component);
+
+		remove(component);
+		componentKeys.put(component, keys);
+
+		for (String key : keys) {
+			List<Component> components = keyIndex.get(key);
+
+			if (components == null) {
+				components = new ArrayList<>();
+				keyIndex.put(key, components);
+			}
+
+			components.add(component);
+		}
+	}
+
+	/**
+	 * Adds a component and, if it is a container, it's children to the
+	 * index.
+	 *
+	 * @param component The component
+	 */
+	private void addHierarchy(Component component) {
+		add(component);
+
+		if (component instanceof Container) {
+			for (Component child : ((Container) component).getComponents()) {
+				addHierarchy(child);
+			}
+		}
+	}
+
+	/**
+	 * Adds a single key to the index entries of a component. Components that
+	 * have not been indexed yet will be ignored.
+	 *
+	 * @param component The component
+	 * @param key       The key to add
+	 */
+	private void addKey(Component component, String key) {
+		String[] keys = componentKeys.get(component);
+
+		if (keys != null && !containsKey(keys, key)) {
+			keys = Arrays.copyOf(keys, keys.length + 1);
+			keys[keys.length - 1] = key;
+			List<Component> components = keyIndex.get(key);
+
+			if (components == null) {
+				components = new ArrayList<>();
+				keyIndex.put(key, components);
+			}
+
+			componentKeys.put(component, keys);
+			components.add(component);
+		}
+	}
+
+	/**
+	 * Checks whether a component is a child in the hierarchy of a container.
+	 *
+	 * @param component The component
+	 * @param container The container
+	 * @return TRUE if the container is an ancestor of the component
+	 */
+	private boolean isChildOf(Component component, Container container) {
+		Container parent = component.getParent();
+
+		while (parent != null && parent != container) {
+			parent = parent.getParent();
+		}
+
+		return parent != null;
+	}
+
+	/**
+	 * Removes the index entries of a single component.
+	 *
+	 * @param component The component
+	 */
+	private void remove(Component component) {
+		String[] keys = componentKeys.remove(component);
+
+		if (keys != null) {
+			for (String key : keys) {
+				List<Component> components = keyIndex.get(key);
+
+				components.remove(component);
+
+				if (components.isEmpty()) {
+					keyIndex.remove(key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes a component and, if it is a container, it's children from the
+	 * index.
+	 *
+	 * @param component The component
+	 */
+	private void removeHierarchy(Component component) {
+		remove(component);
+
+		if (component instanceof Container) {
+			for (Component child : ((Container) component).getComponents()) {
+				removeHierarchy(child);
+			}
+		}
+	}
+
+	/**
+	 * Removes a single key from the index entries of a component.
+	 *
+	 * @param component The component
+	 * @param key       The key to remove
+	 */
+	private void removeKey(Component component, String key) {
+		String[] keys = componentKeys.get(component);
+
+		if (keys != null && containsKey(keys, key)) {
+			List<String> remaining = new ArrayList<>(Arrays.asList(keys));
+			List<Component> components = keyIndex.get(key);
+
+			remaining.remove(key);
+			componentKeys.put(component,
+				remaining.toArray(new String[remaining.size()]));
+			components.remove(component);
+
+			if (components.isEmpty()) {
+				keyIndex.remove(key);
+			}
+		}
+	}
+}
@@ -0,0 +1,190 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.component;
+
+import de.esoco.ewt.style.StyleData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A pool for the recycling of components together with their GWT widgets.
+ * Recycling is disabled by default and must be enabled separately for each
+ * component class with {@link #enable(Class, int, Consumer)}. Afterwards
+ * components of that class which are disposed with
+ * {@link Component#dispose()} or {@link Container#disposeComponents()} (also
+ * as children of a disposed container) will be reset with the reset handler
+ * of the class and kept in the pool. The next component of the
+ * same class that is added with a {@link de.esoco.ewt.build.ContainerBuilder}
+ * will then be taken from the pool instead of creating a new widget. The
+ * recycled component will be initialized again with
+ * {@link Component#initWidget(Container, StyleData)} which keeps the
+ * existing widget but performs the class-specific initialization for the
+ * new parent and style (like the group name of radio buttons).
+ *
+ * <p>The reset handler must restore the state of a component that the build
+ * code doesn't set explicitly, e.g. the text or image of a component that is
+ * added without text or image. Event handlers, shortcuts, the element ID,
+ * inline CSS styles, and the references to the parent container and the
+ * context are always removed when a component is pooled, and the style names
+ * of the widget are reset to those it had after it's creation. Recycling
+ * should only be enabled for component classes that don't receive state in
+ * their constructor and application code must not keep references to
+ * disposed components. Because the children of containers and composites
+ * are built for a certain instance these cannot be recycled.</p>
+ */
+public class ComponentPool {
+
+	private static final Map<Class<?>, ComponentPool> pools = new HashMap<>();
+
+	private final int maxSize;
+
+	private final Consumer<Component> resetHandler;
+
+	private final ArrayList<Component> components = new ArrayList<>();
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param maxSize      The maximum number of pooled components
+	 * @param resetHandler The reset handler or NULL for none
+	 */
+	private ComponentPool(int maxSize, Consumer<Component> resetHandler) {
+		this.maxSize = maxSize;
+		this.resetHandler = resetHandler;
+	}
+
+	/**
+	 * Disables the recycling of a certain component class and discards all
+	 * pooled components of that class.
+	 *
+	 * @param componentClass The component class
+	 */
+	public static void disable(Class<? extends Component> componentClass) {
+		pools.remove(componentClass);
+	}
+
+	/**
+	 * Enables the recycling of a certain component class. Only components of
+	 * exactly this class will be recycled, not instances of subclasses. If
+	 * recycling is already enabled for the class the existing pool will be
+	 * replaced.
+	 *
+	 * @param componentClass The component class to recycle
+	 * @param maxSize        The maximum number of pooled components; further
+	 *                       removed components will be discarded
+	 * @param resetHandler   A handler that resets the state of a component
+	 *                       before it is pooled or NULL for none
+	 * @throws IllegalArgumentException If the component class is a container
+	 *                                  or composite class or the size is not
+	 *                                  positive
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Component> void enable(Class<T> componentClass,
+		int maxSize, Consumer<? super T> resetHandler) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Pool size must be > 0");
+		}
+
+		for (Class<?> type = componentClass; type != null;
+			type = type.getSuperclass()) {
+			if (type == Container.class || type == Composite.class) {
+				throw new IllegalArgumentException(
+					"Containers and composites cannot be recycled: " +
+						componentClass);
+			}
+		}
+
+		pools.put(componentClass, new ComponentPool(maxSize,
+			(Consumer<Component>) resetHandler));
+	}
+
+	/**
+	 * Initializes a component for the addition to a parent container. If a
+	 * pooled component of the same class is available it will be initialized
+	 * and returned instead of the argument component, else the argument
+	 * component will be initialized. In both cases this is done by invoking
+	 * {@link Component#initWidget(Container, StyleData)}. The style must then
+	 * be applied by adding the returned component to the container.
+	 *
+	 * @param component The new component
+	 * @param parent    The parent container
+	 * @param style     The style data of the component
+	 * @return The initialized component (either the argument or a recycled
+	 * component)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Component> T initComponent(T component,
+		Container parent, StyleData style) {
+		ComponentPool pool =
+			pools.isEmpty() ? null : pools.get(component.getClass());
+
+		if (pool != null && !pool.components.isEmpty()) {
+			component =
+				(T) pool.components.remove(pool.components.size() - 1);
+		}
+
+		component.initWidget(parent, style);
+
+		return component;
+	}
+
+	/**
+	 * Returns the number of pooled components of a certain class.
+	 *
+	 * @param componentClass The component class
+	 * @return The number of pooled components (zero if recycling is not
+	 * enabled for the class)
+	 */
+	public static int size(Class<? extends Component> componentClass) {
+		ComponentPool pool = pools.get(componentClass);
+
+		return pool != null ? pool.components.size() : 0;
+	}
+
+	/**
+	 * Recycles a released component if recycling is enabled for it's class.
+	 * For a container the children will be recycled recursively. Invoked by
+	 * {@link Component#dispose()}.
+	 *
+	 * @param component The released component
+	 */
+	static void recycle(Component component) {
+		if (pools.isEmpty()) {
+			return;
+		}
+
+		if (component instanceof Container) {
+			for (Component child : ((Container) component).getComponents()) {
+				recycle(child);
+			}
+		} else {
+			ComponentPool pool = pools.get(component.getClass());
+
+			if (pool != null && pool.components.size() < pool.maxSize) {
+				if (pool.resetHandler != null) {
+					pool.resetHandler.accept(component);
+				}
+
+				component.resetForRecycling();
+				pool.components.add(component);
+			}
+		}
+	}
+}
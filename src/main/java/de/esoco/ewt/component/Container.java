@@ -52,44 +52,65 @@ public abstract class Container extends Component {
 	 * implementation this call may invalidate the components. To prevent
 	 * errors
 	 * no methods should be invoked on a component after it has been removed
-	 * from it's container.
+	 * from it's container. The removed components keep their event handlers.
+	 * To release components that are no longer needed
+	 * {@link #disposeComponents()} should be invoked instead.
 	 */
 	public void clear() {
 		layout.clear(hasWidgets);
+
+		for (Component component : components) {
+			ComponentIndex.componentRemoved(component);
+		}
+
 		components.clear();
 	}
 
 	/**
-	 * Recursively searches a child component with a certain style name.
-	 *
-	 * @param style The style name to search
-	 * @return The first child with the given style name or NULL if none could
-	 * be found in this container's hierarchy
+	 * Removes all components from this container and disposes them. See
+	 * {@link Component#dispose()} for details.
 	 */
-	public Component findChildByStyleName(String style) {
-		Component result = null;
+	public void disposeComponents() {
+		List<Component> removed = new ArrayList<>(components);
 
-		for (Component child : components) {
-			if (child.getWidget().getStyleName().contains(style)) {
-				result = child;
+		clear();
 
-				break;
-			}
+		for (Component component : removed) {
+			component.dispose();
 		}
+	}
 
-		if (result == null) {
-			for (Component child : components) {
-				if (child instanceof Container) {
-					result = ((Container) child).findChildByStyleName(style);
-
-					if (result != null) {
-						break;
-					}
-				}
-			}
-		}
+	/**
+	 * Recursively searches a child component with a certain element ID that
+	 * has been set in the component's style data.
+	 *
+	 * @param id The element ID to search
+	 * @return The child with the given ID or NULL if none could be found in
+	 * this container's hierarchy
+	 * @see #findChildByStyleName(String)
+	 */
+	public Component findChildById(String id) {
+		return findChild("#" + id);
+	}
 
-		return result;
+	/**
+	 * Recursively searches a child component with a certain style name. The
+	 * style name must match one of the style names of a component exactly.
+	 * This includes the default style names of the component widget, the
+	 * names from the component's style data (additional styles both with and
+	 * without their CSS class mapping), and names that have been added with
+	 * {@link Component#addStyleName(String)}. Names that are set directly on
+	 * the GWT widget will not be found. If the container is part of a view
+	 * the search will be performed with an index of the view's components
+	 * that is created on the first search. If several components have the
+	 * same style name it is undefined which one will be returned.
+	 *
+	 * @param style The style name to search
+	 * @return The first child with the given style name or NULL if none could
+	 * be found in this container's hierarchy
+	 */
+	public Component findChildByStyleName(String style) {
+		return findChild(style);
 	}
 
 	/**
@@ -164,6 +185,24 @@ public abstract class Container extends Component {
 		} else {
 			components.add(component);
 		}
+
+		ComponentIndex.componentAdded(component);
+	}
+
+	/**
+	 * EWT-internal method to remove a component from this container without
+	 * releasing it so that it can be added again with
+	 * {@link #internalAddComponent(Component, StyleData)}. Application code
+	 * should never invoke this method.
+	 *
+	 * @param component The component to remove
+	 */
+	public final void internalRemoveComponent(Component component) {
+		layout.removeWidget(hasWidgets, component.getWidget());
+
+		if (components.remove(component)) {
+			ComponentIndex.componentRemoved(component);
+		}
 	}
 
 	/**
@@ -179,13 +218,18 @@ public abstract class Container extends Component {
 	 * Removes a certain component from this container. Depending on the
 	 * implementation this call may invalidate the component. To prevent errors
 	 * no methods should be invoked on a component after it has been removed
-	 * from it's container.
+	 * from it's container. The removed component keeps it's event handlers.
+	 * To release a component that is no longer needed
+	 * {@link Component#dispose()} should be invoked instead.
 	 *
 	 * @param component The component to remove
 	 */
 	public void removeComponent(Component component) {
 		layout.removeWidget(hasWidgets, component.getWidget());
-		components.remove(component);
+
+		if (components.remove(component)) {
+			ComponentIndex.componentRemoved(component);
+		}
 	}
 
 	/**
@@ -272,6 +316,36 @@ public abstract class Container extends Component {
 		layout.addWidget(container, widget, styleData, newComponentPosition);
 	}
 
+	/**
+	 * Overridden to also append the registrations of all child components.
+	 *
+	 * @see Component#appendEventRegistrations(StringBuilder)
+	 */
+	@Override
+	int appendEventRegistrations(StringBuilder report) {
+		int count = super.appendEventRegistrations(report);
+
+		for (Component child : components) {
+			count += child.appendEventRegistrations(report);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Overridden to also release all child components.
+	 *
+	 * @see Component#release()
+	 */
+	@Override
+	void release() {
+		for (Component child : components) {
+			child.release();
+		}
+
+		super.release();
+	}
+
 	/**
 	 * Overridden to also set the container of this instance.
 	 *
@@ -293,6 +367,22 @@ public abstract class Container extends Component {
 		}
 	}
 
+	/**
+	 * Searches a child component with a certain index key.
+	 *
+	 * @param key The style name or element ID (with prefix '#')
+	 * @return The matching child or NULL for none
+	 */
+	private Component findChild(String key) {
+		View view = this instanceof View ? (View) this : getView();
+
+		if (view != null) {
+			return view.getComponentIndex(true).find(this, key);
+		} else {
+			return ComponentIndex.scan(this, key);
+		}
+	}
+
 	/**
 	 * A simple layout implementation that will be used if no explicit layout
 	 * has been set.
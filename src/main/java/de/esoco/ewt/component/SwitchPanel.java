@@ -16,11 +16,29 @@
 //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
 package de.esoco.ewt.component;
 
+import de.esoco.ewt.build.ContainerBuilder;
+import de.esoco.ewt.impl.gwt.UiTaskScheduler.Priority;
 import de.esoco.ewt.layout.GenericLayout;
 import de.esoco.ewt.style.StyleData;
 
 import de.esoco.lib.property.SingleSelection;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Node;
+import com.google.gwt.event.logical.shared.HasBeforeSelectionHandlers;
+import com.google.gwt.event.logical.shared.HasSelectionHandlers;
+import com.google.gwt.user.client.ui.HasScrolling;
 import com.google.gwt.user.client.ui.HasWidgets;
 import com.google.gwt.user.client.ui.Widget;
 
@@ -28,11 +46,39 @@ import com.google.gwt.user.client.ui.Widget;
  * A base class for panels that switch between pages of components in some way
  * like tabs or stacks.
  *
+ * <p>Pages can either be added fully built with
+ * {@link #addPage(Component, String, boolean)} or as lazy pages with
+ * {@link #addLazyPage(StyleData, String, boolean, Consumer)}. The components
+ * of a lazy page will only be built when the page is selected for the first
+ * time.</p>
+ *
+ * <p>To reduce the size of the live document the content of hidden pages can
+ * be detached from the DOM by setting a maximum number of attached pages with
+ * {@link #setMaxAttachedPages(int)}. The least recently selected pages will
+ * then be detached when another page is selected and re-attached when they
+ * are selected again. The components of detached pages and their state are
+ * preserved. Components that are added to a detached page are appended to
+ * the end of the page content. Inserting components at a certain position of
+ * a detached page is not supported because the position can only be
+ * resolved with the attached content.</p>
+ *
  * @author eso
  */
 public abstract class SwitchPanel extends FixedLayoutPanel
 	implements SingleSelection {
 
+	private Map<Component, Runnable> lazyPages;
+
+	private boolean prebuildPages = false;
+
+	private boolean pageSelectionInitialized = false;
+
+	private int maxAttachedPages = 0;
+
+	private LinkedHashSet<Component> attachedPages;
+
+	private Map<Component, DetachedPage> detachedPages;
+
 	/**
 	 * Creates a new instance.
 	 *
@@ -50,6 +96,45 @@ public abstract class SwitchPanel extends FixedLayoutPanel
 		}
 	}
 
+	/**
+	 * Adds a new page that will be built when it is selected for the first
+	 * time. The page is a {@link Panel} with an {@link
+	 * de.esoco.ewt.layout.EdgeLayout} that is created immediately but remains
+	 * empty until the page is displayed. Then the page builder will be
+	 * invoked with a container builder for the panel to add the page
+	 * components, e.g. by building a {@link
+	 * de.esoco.ewt.build.ContainerManager} in it.
+	 *
+	 * @param style       The style data of the page panel
+	 * @param pageTitle   The title of the page
+	 * @param closeable   TRUE if the page can be closed by the user
+	 * @param pageBuilder The function that builds the page components
+	 * @return The page panel
+	 */
+	public Panel addLazyPage(StyleData style, String pageTitle,
+		boolean closeable, Consumer<ContainerBuilder<Panel>> pageBuilder) {
+		ContainerBuilder<Panel> builder =
+			new ContainerBuilder<>(this).addPanel(style);
+
+		Panel page = builder.getContainer();
+
+		if (lazyPages == null) {
+			lazyPages = new HashMap<>();
+			initPageSelection();
+		}
+
+		lazyPages.put(page, () -> builder.buildDetached(
+			() -> pageBuilder.accept(builder)));
+
+		addPage(page, pageTitle, closeable);
+
+		if (getSelectionIndex() == getPageIndex(page)) {
+			buildLazyPage(page);
+		}
+
+		return page;
+	}
+
 	/**
 	 * Adds a new page to this panel.
 	 *
@@ -62,6 +147,31 @@ public abstract class SwitchPanel extends FixedLayoutPanel
 		getLayout().addPage(component, pageTitle, closeable);
 	}
 
+	/**
+	 * Overridden to also remove unbuilt lazy pages and to re-attach the
+	 * content of detached pages.
+	 *
+	 * @see Container#clear()
+	 */
+	@Override
+	public void clear() {
+		if (detachedPages != null) {
+			for (Entry<Component, DetachedPage> page :
+				detachedPages.entrySet()) {
+				page.getValue().attach(page.getKey());
+			}
+
+			attachedPages.clear();
+			detachedPages.clear();
+		}
+
+		super.clear();
+
+		if (lazyPages != null) {
+			lazyPages.clear();
+		}
+	}
+
 	/**
 	 * Overridden to return the layout after a cast to
 	 * {@link SwitchPanelLayout}.
@@ -73,6 +183,17 @@ public abstract class SwitchPanel extends FixedLayoutPanel
 		return (SwitchPanelLayout) super.getLayout();
 	}
 
+	/**
+	 * Returns the maximum number of pages with attached content.
+	 *
+	 * @return The maximum number of attached pages or zero if page content is
+	 * never detached
+	 * @see #setMaxAttachedPages(int)
+	 */
+	public final int getMaxAttachedPages() {
+		return maxAttachedPages;
+	}
+
 	/**
 	 * Returns the number of pages in this instance.
 	 *
@@ -100,6 +221,82 @@ public abstract class SwitchPanel extends FixedLayoutPanel
 		return getLayout().getSelectionIndex();
 	}
 
+	/**
+	 * Checks whether lazy pages adjacent to a selected page are built in the
+	 * background.
+	 *
+	 * @return TRUE if adjacent pages are pre-built
+	 * @see #setPrebuildPages(boolean)
+	 */
+	public final boolean isPrebuildPages() {
+		return prebuildPages;
+	}
+
+	/**
+	 * Overridden to also remove the builder of an unbuilt lazy page and to
+	 * re-attach the content of a detached page.
+	 *
+	 * @see Container#removeComponent(Component)
+	 */
+	@Override
+	public void removeComponent(Component component) {
+		if (detachedPages != null) {
+			DetachedPage detached = detachedPages.remove(component);
+
+			if (detached != null) {
+				detached.attach(component);
+			}
+
+			attachedPages.remove(component);
+		}
+
+		super.removeComponent(component);
+
+		if (lazyPages != null) {
+			lazyPages.remove(component);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of pages that keep their content attached to
+	 * the DOM, including the selected page. If the limit is exceeded the
+	 * content of the least recently selected pages will be detached when
+	 * another page is selected. Detached content is re-attached when the page
+	 * is selected again, restoring the scroll positions of it's elements. The
+	 * widgets of detached pages remain logically attached in GWT so that
+	 * their state doesn't change. A value of zero (the default) disables
+	 * detaching and re-attaches all detached pages.
+	 *
+	 * @param max The maximum number of attached pages or zero to disable the
+	 *            detaching of hidden pages
+	 * @throws IllegalArgumentException If the argument is negative
+	 */
+	public final void setMaxAttachedPages(int max) {
+		if (max < 0) {
+			throw new IllegalArgumentException("Maximum must be >= 0: " + max);
+		}
+
+		maxAttachedPages = max;
+
+		if (max > 0) {
+			if (attachedPages == null) {
+				attachedPages = new LinkedHashSet<>();
+				detachedPages = new HashMap<>();
+				initPageSelection();
+			}
+
+			updateAttachedPages(getPageAt(getSelectionIndex()));
+		} else if (detachedPages != null) {
+			for (Entry<Component, DetachedPage> page :
+				detachedPages.entrySet()) {
+				page.getValue().attach(page.getKey());
+			}
+
+			attachedPages = null;
+			detachedPages = null;
+		}
+	}
+
 	/**
 	 * Sets the title of a particular page.
 	 *
@@ -110,11 +307,24 @@ public abstract class SwitchPanel extends FixedLayoutPanel
 		getLayout().setPageTitle(index, title);
 	}
 
+	/**
+	 * Enables or disables the pre-building of lazy pages. If enabled the
+	 * pages before and after a selected page will be built when the browser
+	 * is idle so that they can be displayed without delay when the user
+	 * switches to them.
+	 *
+	 * @param prebuild TRUE to pre-build adjacent lazy pages
+	 */
+	public final void setPrebuildPages(boolean prebuild) {
+		prebuildPages = prebuild;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void setSelection(int index) {
+		preparePage(index);
 		getLayout().setSelection(index);
 	}
 
@@ -128,6 +338,209 @@ public abstract class SwitchPanel extends FixedLayoutPanel
 	void addWidget(HasWidgets container, Widget widget, StyleData styleData) {
 	}
 
+	/**
+	 * Builds a lazy page if it hasn't been built yet.
+	 *
+	 * @param page The page component
+	 */
+	private void buildLazyPage(Component page) {
+		Runnable pageBuilder =
+			lazyPages != null ? lazyPages.remove(page) : null;
+
+		if (pageBuilder != null) {
+			pageBuilder.run();
+		}
+	}
+
+	/**
+	 * Builds the lazy page at a certain index if it hasn't been built yet and
+	 * schedules the pre-building of the adjacent pages if enabled. Lazy pages
+	 * that have been removed from the layout (e.g. closed tabs) will be
+	 * discarded.
+	 *
+	 * @param index The page index
+	 */
+	private void buildLazyPageAt(int index) {
+		if (lazyPages != null && !lazyPages.isEmpty()) {
+			lazyPages.keySet().removeIf(page -> getPageIndex(page) < 0);
+			buildLazyPage(getLazyPage(index));
+
+			if (prebuildPages) {
+				prebuildLazyPage(index - 1);
+				prebuildLazyPage(index + 1);
+			}
+		}
+	}
+
+	/**
+	 * Detaches the content of a page from the DOM.
+	 *
+	 * @param page The page component
+	 */
+	private void detachPage(Component page) {
+		if (!detachedPages.containsKey(page)) {
+			detachedPages.put(page, new DetachedPage(page));
+		}
+	}
+
+	/**
+	 * Returns the unbuilt lazy page at a certain index.
+	 *
+	 * @param index The page index
+	 * @return The page component or NULL if the page at the index is not an
+	 * unbuilt lazy page
+	 */
+	private Component getLazyPage(int index) {
+		for (Entry<Component, Runnable> lazyPage : lazyPages.entrySet()) {
+			if (getPageIndex(lazyPage.getKey()) == index) {
+				return lazyPage.getKey();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the page component at a certain index.
+	 *
+	 * @param index The page index
+	 * @return The page component or NULL if no page exists at the index
+	 */
+	private Component getPageAt(int index) {
+		if (index >= 0) {
+			for (Component component : getComponents()) {
+				if (getPageIndex(component) == index) {
+					return component;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Registers handlers that prepare pages when they are selected by the
+	 * user if the panel widget supports it. Lazy pages are built before the
+	 * selection unless it has already been canceled. If the widget also
+	 * fires selection events the page contents are attached and detached
+	 * only after the selection has been performed so that a selection that
+	 * is canceled by a handler that is invoked later cannot detach the
+	 * visible page.
+	 */
+	@SuppressWarnings("unchecked")
+	private void initPageSelection() {
+		Widget widget = getWidget();
+
+		if (!pageSelectionInitialized &&
+			widget instanceof HasBeforeSelectionHandlers) {
+			HasBeforeSelectionHandlers<Integer> selectable =
+				(HasBeforeSelectionHandlers<Integer>) widget;
+			boolean selectionEvents = widget instanceof HasSelectionHandlers;
+
+			selectable.addBeforeSelectionHandler(event -> {
+				if (!event.isCanceled()) {
+					if (selectionEvents) {
+						buildLazyPageAt(event.getItem());
+					} else {
+						preparePage(event.getItem());
+					}
+				}
+			});
+
+			if (selectionEvents) {
+				((HasSelectionHandlers<Integer>) widget).addSelectionHandler(
+					event -> {
+						if (maxAttachedPages > 0) {
+							updateAttachedPages(
+								getPageAt(event.getSelectedItem()));
+						}
+					});
+			}
+
+			pageSelectionInitialized = true;
+		}
+	}
+
+	/**
+	 * Checks whether a page is a lazy page that hasn't been built yet.
+	 *
+	 * @param page The page component
+	 * @return TRUE for an unbuilt lazy page
+	 */
+	private boolean isUnbuiltPage(Component page) {
+		return lazyPages != null && lazyPages.containsKey(page);
+	}
+
+	/**
+	 * Schedules the building of the lazy page at a certain index when the
+	 * browser is idle.
+	 *
+	 * @param index The page index
+	 */
+	private void prebuildLazyPage(int index) {
+		Component page = getLazyPage(index);
+
+		if (page != null) {
+			getContext().runLater(Priority.BACKGROUND,
+				() -> buildLazyPage(page));
+		}
+	}
+
+	/**
+	 * Prepares the page at a certain index for it's selection by attaching
+	 * it's content and building it if it is a lazy page.
+	 *
+	 * @param index The page index
+	 */
+	private void preparePage(int index) {
+		if (maxAttachedPages > 0) {
+			updateAttachedPages(getPageAt(index));
+		}
+
+		buildLazyPageAt(index);
+	}
+
+	/**
+	 * Attaches the content of a page that is about to be selected and
+	 * detaches the content of the least recently selected pages that exceed
+	 * the maximum number of attached pages. Pages that have never been
+	 * selected will be detached too, with the exception of unbuilt lazy pages
+	 * which are still empty.
+	 *
+	 * @param selectedPage The page to be selected or NULL for none
+	 */
+	private void updateAttachedPages(Component selectedPage) {
+		attachedPages.removeIf(page -> getPageIndex(page) < 0);
+		detachedPages.keySet().removeIf(page -> getPageIndex(page) < 0);
+
+		if (selectedPage != null) {
+			DetachedPage detached = detachedPages.remove(selectedPage);
+
+			if (detached != null) {
+				detached.attach(selectedPage);
+			}
+
+			attachedPages.remove(selectedPage);
+			attachedPages.add(selectedPage);
+		}
+
+		Iterator<Component> leastRecent = attachedPages.iterator();
+
+		while (attachedPages.size() > maxAttachedPages) {
+			Component page = leastRecent.next();
+
+			leastRecent.remove();
+			detachPage(page);
+		}
+
+		for (Component page : getComponents()) {
+			if (!attachedPages.contains(page) && !isUnbuiltPage(page) &&
+				getPageIndex(page) >= 0) {
+				detachPage(page);
+			}
+		}
+	}
+
 	/**
 	 * A base class for the default layouts of subclasses.
 	 *
@@ -170,4 +583,109 @@ public abstract class SwitchPanel extends FixedLayoutPanel
 		 */
 		public abstract void setPageTitle(int index, String title);
 	}
+
+	/**
+	 * Holds the detached content of a page and the scroll positions of it's
+	 * scroll containers. To avoid reading the scroll offsets of all page
+	 * elements only the page element itself and the scrollable widgets
+	 * of the page components are considered as scroll containers.
+	 */
+	private static class DetachedPage {
+
+		private final Element content;
+
+		private final List<Runnable> scrollRestores = new ArrayList<>();
+
+		/**
+		 * Creates a new instance that detaches the content of a page.
+		 *
+		 * @param page The page component
+		 */
+		DetachedPage(Component page) {
+			Element pageElement = page.getElement();
+			int top = pageElement.getScrollTop();
+			int left = pageElement.getScrollLeft();
+
+			if (top != 0 || left != 0) {
+				scrollRestores.add(() -> {
+					pageElement.setScrollTop(top);
+					pageElement.setScrollLeft(left);
+				});
+			}
+
+			if (page instanceof Container) {
+				storeScrollPositions((Container) page);
+			}
+
+			content = Document.get().createDivElement();
+			moveChildren(pageElement, content);
+		}
+
+		/**
+		 * Re-attaches the content to the page element. The detached content
+		 * is inserted before any nodes that have been added to the page while
+		 * it was detached so that the order of the page components is
+		 * preserved. The scroll positions will be restored after the current
+		 * event has been processed so that the page has been displayed
+		 * already.
+		 *
+		 * @param page The page component
+		 */
+		void attach(Component page) {
+			moveChildren(content, page.getElement());
+
+			if (!scrollRestores.isEmpty()) {
+				Scheduler.get().scheduleFinally(() -> {
+					for (Runnable restore : scrollRestores) {
+						restore.run();
+					}
+				});
+			}
+		}
+
+		/**
+		 * Moves all child nodes of an element before the existing children of
+		 * another element.
+		 *
+		 * @param source The source element
+		 * @param target The target element
+		 */
+		private static void moveChildren(Element source, Element target) {
+			Node before = target.getFirstChild();
+			Node child;
+
+			while ((child = source.getFirstChild()) != null) {
+				target.insertBefore(child, before);
+			}
+		}
+
+		/**
+		 * Stores the scroll positions of all scrollable widgets in a container
+		 * hierarchy that have been scrolled.
+		 *
+		 * @param container The container
+		 */
+		private void storeScrollPositions(Container container) {
+			for (Component component : container.getComponents()) {
+				Widget widget = component.getWidget();
+
+				if (widget instanceof HasScrolling) {
+					HasScrolling scrollPanel = (HasScrolling) widget;
+					int top = scrollPanel.getVerticalScrollPosition();
+					int left = scrollPanel.getHorizontalScrollPosition();
+
+					if (top != 0 || left != 0) {
+						scrollRestores.add(() -> {
+							scrollPanel.setVerticalScrollPosition(top);
+							scrollPanel.setHorizontalScrollPosition(left);
+						});
+					}
+				}
+
+				if (component instanceof Container) {
+					storeScrollPositions((Container) component);
+				}
+			}
+		}
+	}
 }
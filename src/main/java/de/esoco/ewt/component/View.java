@@ -35,6 +35,8 @@ public abstract class View extends Container implements TitleAttribute {
 
 	private final ViewStyle viewStyle;
 
+	private ComponentIndex componentIndex;
+
 	/**
 	 * Creates a new instance.
 	 *
@@ -60,6 +62,21 @@ public abstract class View extends Container implements TitleAttribute {
 		this.viewStyle = style;
 	}
 
+	/**
+	 * Overridden to dispose this view after it has been closed for good. This
+	 * hides the view and releases all components, i.e. their event handlers
+	 * and the keyboard shortcuts that are scoped to the view or it's
+	 * components are removed. A disposed view must not be displayed again.
+	 *
+	 * @see Component#dispose()
+	 */
+	@Override
+	public void dispose() {
+		setVisible(false);
+		release();
+		componentIndex = null;
+	}
+
 	/**
 	 * Overridden to return the actual UI context.
 	 *
@@ -70,6 +87,28 @@ public abstract class View extends Container implements TitleAttribute {
 		return context;
 	}
 
+	/**
+	 * Returns a debug report of the live native event handler registrations
+	 * of all components in this view. The report lists each component that
+	 * has registrations together with the registered event types and
+	 * compares
+	 * the total count with the global count returned by
+	 * {@link Component#getLiveEventRegistrationCount()}. This can be used to
+	 * detect event handlers that leak when views are rebuilt.
+	 *
+	 * @return The registration report
+	 */
+	public String getEventRegistrationReport() {
+		StringBuilder report = new StringBuilder();
+		int count = appendEventRegistrations(report);
+
+		report.insert(0,
+			this + ": " + count + " live event registrations (" +
+				getLiveEventRegistrationCount() + " in all views)\n");
+
+		return report.toString();
+	}
+
 	/**
 	 * Returns the view title.
 	 *
@@ -96,6 +135,20 @@ public abstract class View extends Container implements TitleAttribute {
 	public void pack() {
 	}
 
+	/**
+	 * Returns the index of the components in this view.
+	 *
+	 * @param create TRUE to create the index if it doesn't exist yet
+	 * @return The component index or NULL if not created yet
+	 */
+	ComponentIndex getComponentIndex(boolean create) {
+		if (componentIndex == null && create) {
+			componentIndex = new ComponentIndex(this);
+		}
+
+		return componentIndex;
+	}
+
 	/**
 	 * Sets the view title. Should be overridden by view implementations that
 	 * can display a view title.
@@ -126,10 +126,11 @@ public class MultiFormatDisplay<T, F extends Function<T, String>>
 
 	private static final StyleData MODE_BUTTON_STYLE = DEFAULT
 		.set(BUTTON_STYLE, ButtonStyle.LINK)
-		.set(HORIZONTAL_ALIGN, Alignment.CENTER);
+		.set(HORIZONTAL_ALIGN, Alignment.CENTER)
+		.intern();
 
 	private static final StyleData VALUE_STYLE =
-		DEFAULT.set(HORIZONTAL_ALIGN, Alignment.END);
+		DEFAULT.set(HORIZONTAL_ALIGN, Alignment.END).intern();
 
 	private final F[] formats;
 
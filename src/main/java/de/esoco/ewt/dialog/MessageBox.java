@@ -355,7 +355,7 @@ public class MessageBox implements ClickHandler {
 
 		if (image instanceof ImageRef) {
 			com.google.gwt.user.client.ui.Image gwtImage =
-				((ImageRef) image).getGwtImage();
+				((ImageRef) image).createGwtImage();
 
 			gwtImage.addStyleName(CSS.ewtMessageIcon());
 
@@ -26,11 +26,19 @@ import com.google.gwt.resources.client.ImageResource;
  * created by invoking the constructor of this class but by using the factory
  * method {@link UserInterfaceContext#createImage(Object)}.
  *
+ * <p>Instances are lightweight descriptors that only create the GWT image
+ * widget (and therefore the DOM element) when it is needed. This allows to
+ * share image references between multiple components. Code that adds the
+ * image to the DOM should therefore use {@link #createGwtImage()} to create a
+ * separate widget for each usage.</p>
+ *
  * @author eso
  */
 public class ImageRef implements Image {
 
-	private Object imageDefinition;
+	private final Object imageDefinition;
+
+	private final boolean lazyLoading;
 
 	private com.google.gwt.user.client.ui.Image gwtImage;
 
@@ -44,28 +52,79 @@ public class ImageRef implements Image {
 	 * @throws IllegalArgumentException If the argument type is not supported
 	 */
 	public ImageRef(Object imageDefinition) {
+		this(imageDefinition, false);
+	}
+
+	/**
+	 * Creates a new instance from an arbitrary image object with optional
+	 * lazy loading of image URLs. If enabled the browser will defer the
+	 * loading of the images created from a string definition until they
+	 * become visible.
+	 *
+	 * @param imageDefinition The image object
+	 * @param lazyLoading     TRUE to lazy-load images from URLs
+	 * @throws IllegalArgumentException If the argument type is not supported
+	 * @see #ImageRef(Object)
+	 */
+	public ImageRef(Object imageDefinition, boolean lazyLoading) {
+		if (!(imageDefinition instanceof ImageResource ||
+			imageDefinition instanceof com.google.gwt.user.client.ui.Image ||
+			imageDefinition instanceof String)) {
+			throw new IllegalArgumentException(
+				"Invalid image parameter: " + imageDefinition);
+		}
+
 		this.imageDefinition = imageDefinition;
+		this.lazyLoading = lazyLoading;
+
+		if (imageDefinition instanceof com.google.gwt.user.client.ui.Image) {
+			gwtImage = (com.google.gwt.user.client.ui.Image) imageDefinition;
+		}
+	}
+
+	/**
+	 * Creates a new GWT image widget for this image. Other than
+	 * {@link #getGwtImage()} this method returns a new widget on each
+	 * invocation which allows to display this image at multiple locations.
+	 * If this instance has been created from a GWT image widget that widget
+	 * will be returned instead.
+	 *
+	 * @return A new GWT image widget
+	 */
+	public com.google.gwt.user.client.ui.Image createGwtImage() {
+		com.google.gwt.user.client.ui.Image image;
 
 		if (imageDefinition instanceof ImageResource) {
-			gwtImage = new com.google.gwt.user.client.ui.Image(
+			image = new com.google.gwt.user.client.ui.Image(
 				(ImageResource) imageDefinition);
-		} else if (imageDefinition instanceof com.google.gwt.user.client.ui.Image) {
-			gwtImage = (com.google.gwt.user.client.ui.Image) imageDefinition;
 		} else if (imageDefinition instanceof String) {
-			gwtImage = new com.google.gwt.user.client.ui.Image(
-				(String) imageDefinition);
+			image = new com.google.gwt.user.client.ui.Image();
+
+			if (lazyLoading) {
+				image.getElement().setAttribute("loading", "lazy");
+			}
+
+			image.setUrl((String) imageDefinition);
 		} else {
-			throw new IllegalArgumentException(
-				"Invalid image parameter: " + imageDefinition);
+			image = (com.google.gwt.user.client.ui.Image) imageDefinition;
 		}
+
+		return image;
 	}
 
 	/**
-	 * Returns the internal GWT image.
+	 * Returns the internal GWT image of this instance. The widget will be
+	 * created on the first invocation. Because a widget can only be added to
+	 * a single parent {@link #createGwtImage()} should be used to display
+	 * shared instances.
 	 *
 	 * @return The GWT image
 	 */
 	public com.google.gwt.user.client.ui.Image getGwtImage() {
+		if (gwtImage == null) {
+			gwtImage = createGwtImage();
+		}
+
 		return gwtImage;
 	}
 
@@ -75,7 +134,9 @@ public class ImageRef implements Image {
 	 * @return The height in pixels
 	 */
 	public int getHeight() {
-		return gwtImage.getHeight();
+		return imageDefinition instanceof ImageResource ?
+		       ((ImageResource) imageDefinition).getHeight() :
+		       getGwtImage().getHeight();
 	}
 
 	/**
@@ -93,6 +154,17 @@ public class ImageRef implements Image {
 	 * @return The width in pixels
 	 */
 	public int getWidth() {
-		return gwtImage.getWidth();
+		return imageDefinition instanceof ImageResource ?
+		       ((ImageResource) imageDefinition).getWidth() :
+		       getGwtImage().getWidth();
+	}
+
+	/**
+	 * Checks whether images from URLs are loaded lazily.
+	 *
+	 * @return TRUE for lazy loading
+	 */
+	public final boolean isLazyLoading() {
+		return lazyLoading;
 	}
 }
@@ -0,0 +1,140 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.impl.gwt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Batches DOM operations into separate read and write phases to prevent
+ * layout thrashing. Code that reads layout properties (like offset sizes or
+ * positions) must be queued with {@link #measure(Runnable)}, code that
+ * modifies the DOM or element styles with {@link #mutate(Runnable)}. All
+ * queued operations are executed in the next animation frame, first all reads
+ * and then all writes. That way the browser needs to calculate the layout at
+ * most once per frame instead of once for each read that follows a write.
+ *
+ * <p>Reads that are queued from a read operation and writes that are queued
+ * from a write operation will be executed in the same phase. Reads that are
+ * queued from a write operation will be executed in the next frame. A typical
+ * usage is therefore to queue a write from a read operation that has
+ * calculated the new layout values.</p>
+ */
+public class DomBatch {
+
+	private static final DomBatch INSTANCE = new DomBatch();
+
+	private List<Runnable> reads = new ArrayList<>();
+
+	private List<Runnable> writes = new ArrayList<>();
+
+	private boolean flushScheduled = false;
+
+	/**
+	 * Private, only used for the singleton instance.
+	 */
+	private DomBatch() {
+	}
+
+	/**
+	 * Returns the batch singleton.
+	 *
+	 * @return The batch instance
+	 */
+	public static DomBatch get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Queues an operation that reads from the DOM.
+	 *
+	 * @param read The read operation
+	 */
+	public void measure(Runnable read) {
+		reads.add(read);
+		scheduleFlush();
+	}
+
+	/**
+	 * Queues an operation that modifies the DOM.
+	 *
+	 * @param write The write operation
+	 */
+	public void mutate(Runnable write) {
+		writes.add(write);
+		scheduleFlush();
+	}
+
+	/**
+	 * Executes all queued read and write operations in separate phases.
+	 */
+	private void flush() {
+		while (!reads.isEmpty()) {
+			List<Runnable> currentReads = reads;
+
+			reads = new ArrayList<>();
+			runAll(currentReads);
+		}
+
+		while (!writes.isEmpty()) {
+			List<Runnable> currentWrites = writes;
+
+			writes = new ArrayList<>();
+			runAll(currentWrites);
+		}
+
+		flushScheduled = false;
+
+		if (!reads.isEmpty()) {
+			// reads queued by write operations are executed in the next frame
+			scheduleFlush();
+		}
+	}
+
+	/**
+	 * Executes a list of operations. Exceptions are reported to the GWT
+	 * uncaught exception handler so that subsequent operations will still be
+	 * executed.
+	 *
+	 * @param operations The operations to execute
+	 */
+	private void runAll(List<Runnable> operations) {
+		for (Runnable operation : operations) {
+			try {
+				operation.run();
+			} catch (RuntimeException e) {
+				GWT.reportUncaughtException(e);
+			}
+		}
+	}
+
+	/**
+	 * Schedules the flushing of the queued operations in the next animation
+	 * frame if not yet done.
+	 */
+	private void scheduleFlush() {
+		if (!flushScheduled) {
+			flushScheduled = true;
+			AnimationScheduler
+				.get()
+				.requestAnimationFrame(timestamp -> flush());
+		}
+	}
+}
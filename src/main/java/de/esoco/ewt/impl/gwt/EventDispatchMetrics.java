@@ -0,0 +1,332 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.impl.gwt;
+
+import de.esoco.ewt.component.Component;
+import de.esoco.ewt.event.EventType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * An {@link EventDispatchMonitor} implementation that records the number and
+ * the latency of event dispatches per {@link EventType} and per component
+ * class. Latencies are collected in histograms with exponential buckets (see
+ * {@link #HISTOGRAM_BOUNDS}). If the performance timeline is enabled each
+ * dispatch will also be added as a measure to the browser's performance
+ * timeline so that it can be analyzed in performance recordings of the
+ * browser's developer tools. The measures are removed from the performance
+ * buffer immediately so that it doesn't grow in long sessions.
+ *
+ * <p>To enable the metrics an instance must be registered with
+ * {@link Component#setEventDispatchMonitor(EventDispatchMonitor)}:</p>
+ *
+ * <pre>
+ * EventDispatchMetrics metrics = new EventDispatchMetrics(true);
+ *
+ * Component.setEventDispatchMonitor(metrics);
+ * ...
+ * EWT.log("%s", metrics);
+ * </pre>
+ */
+public class EventDispatchMetrics implements EventDispatchMonitor {
+
+	/**
+	 * The upper bounds of the latency histogram buckets in milliseconds. The
+	 * histogram contains an additional last bucket for all larger latencies.
+	 */
+	public static final double[] HISTOGRAM_BOUNDS =
+		{ 1, 2, 4, 8, 16, 32, 64, 128, 256 };
+
+	private final Map<EventType, DispatchStatistics> eventTypeStatistics =
+		new EnumMap<>(EventType.class);
+
+	private final Map<Class<?>, DispatchStatistics> componentStatistics =
+		new HashMap<>();
+
+	private boolean performanceTimeline;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param performanceTimeline TRUE to add dispatch measures to the browser
+	 *                            performance timeline
+	 */
+	public EventDispatchMetrics(boolean performanceTimeline) {
+		this.performanceTimeline = performanceTimeline;
+	}
+
+	/**
+	 * Returns the current time from the high-resolution browser timer.
+	 *
+	 * @return The current time in milliseconds
+	 */
+	private static native double now() /*-{
+		return $wnd.performance ? $wnd.performance.now() : Date.now();
+	}-*/;
+
+	/**
+	 * Adds a measure to the browser performance timeline and then clears it
+	 * from the performance buffer. Developer tools that are recording the
+	 * timeline will still contain the measure.
+	 *
+	 * @param name  The name of the measure
+	 * @param start The start time as returned by {@link #now()}
+	 * @param end   The end time as returned by {@link #now()}
+	 */
+	private static native void addPerformanceMeasure(String name,
+		double start, double end) /*-{
+		try {
+			$wnd.performance.measure(name, {start: start, end: end});
+			$wnd.performance.clearMeasures(name);
+		} catch (e) {
+			// user timing level 3 not supported by the browser
+		}
+	}-*/;
+
+	/**
+	 * Returns the statistics for all component classes that have dispatched
+	 * events.
+	 *
+	 * @return A mapping from component classes to dispatch statistics
+	 */
+	public Map<Class<?>, DispatchStatistics> getComponentStatistics() {
+		return Collections.unmodifiableMap(componentStatistics);
+	}
+
+	/**
+	 * Returns the statistics for all event types that have been dispatched.
+	 *
+	 * @return A mapping from event types to dispatch statistics
+	 */
+	public Map<EventType, DispatchStatistics> getEventTypeStatistics() {
+		return Collections.unmodifiableMap(eventTypeStatistics);
+	}
+
+	/**
+	 * Checks whether event dispatches are added to the browser performance
+	 * timeline.
+	 *
+	 * @return TRUE if the performance timeline is enabled
+	 */
+	public final boolean isPerformanceTimeline() {
+		return performanceTimeline;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void monitorDispatch(Component component, EventType eventType,
+		Runnable dispatch) {
+		double start = now();
+
+		try {
+			dispatch.run();
+		} finally {
+			double end = now();
+			double latency = end - start;
+			Class<?> componentClass = component.getClass();
+
+			getStatistics(eventTypeStatistics, eventType).record(latency);
+			getStatistics(componentStatistics, componentClass).record(latency);
+
+			if (performanceTimeline) {
+				addPerformanceMeasure(
+					"ewt:" + eventType + ":" + componentClass.getSimpleName(),
+					start, end);
+			}
+		}
+	}
+
+	/**
+	 * Removes all recorded statistics.
+	 */
+	public void reset() {
+		eventTypeStatistics.clear();
+		componentStatistics.clear();
+	}
+
+	/**
+	 * Enables or disables the adding of event dispatches to the browser
+	 * performance timeline.
+	 *
+	 * @param enabled The new performance timeline state
+	 */
+	public final void setPerformanceTimeline(boolean enabled) {
+		performanceTimeline = enabled;
+	}
+
+	/**
+	 * Returns a multi-line report of the recorded statistics.
+	 *
+	 * @return The statistics report
+	 */
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder("Event dispatch metrics\n");
+
+		for (Entry<EventType, DispatchStatistics> entry :
+			eventTypeStatistics.entrySet()) {
+			report.append(entry.getKey()).append(": ");
+			report.append(entry.getValue()).append('\n');
+		}
+
+		for (Entry<Class<?>, DispatchStatistics> entry :
+			componentStatistics.entrySet()) {
+			report.append(entry.getKey().getSimpleName()).append(": ");
+			report.append(entry.getValue()).append('\n');
+		}
+
+		return report.toString();
+	}
+
+	/**
+	 * Returns the statistics for a certain key from a map and creates it if
+	 * necessary.
+	 *
+	 * @param statistics The statistics map
+	 * @param key        The statistics key
+	 * @return The statistics for the key
+	 */
+	private <K> DispatchStatistics getStatistics(
+		Map<K, DispatchStatistics> statistics, K key) {
+		DispatchStatistics result = statistics.get(key);
+
+		if (result == null) {
+			result = new DispatchStatistics();
+			statistics.put(key, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Contains the statistics of the event dispatches for a certain key.
+	 */
+	public static class DispatchStatistics {
+
+		private final int[] histogram = new int[HISTOGRAM_BOUNDS.length + 1];
+
+		private int count;
+
+		private double totalTime;
+
+		private double maxTime;
+
+		/**
+		 * Returns the average dispatch latency.
+		 *
+		 * @return The average latency in milliseconds
+		 */
+		public double getAverageTime() {
+			return count > 0 ? totalTime / count : 0;
+		}
+
+		/**
+		 * Returns the number of dispatches.
+		 *
+		 * @return The dispatch count
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * Returns a copy of the latency histogram. The bucket at index i
+		 * contains the number of dispatches with a latency below
+		 * {@link #HISTOGRAM_BOUNDS}[i]. The last bucket contains all
+		 * dispatches with larger latencies.
+		 *
+		 * @return The latency histogram
+		 */
+		public int[] getHistogram() {
+			int[] result = new int[histogram.length];
+
+			System.arraycopy(histogram, 0, result, 0, histogram.length);
+
+			return result;
+		}
+
+		/**
+		 * Returns the maximum dispatch latency.
+		 *
+		 * @return The maximum latency in milliseconds
+		 */
+		public double getMaxTime() {
+			return maxTime;
+		}
+
+		/**
+		 * Returns the total time of all dispatches.
+		 *
+		 * @return The total time in milliseconds
+		 */
+		public double getTotalTime() {
+			return totalTime;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			StringBuilder result = new StringBuilder();
+
+			result.append(count).append(" dispatches, avg ");
+			result.append(Math.round(getAverageTime() * 100) / 100d);
+			result.append("ms, max ");
+			result.append(Math.round(maxTime * 100) / 100d);
+			result.append("ms, histogram [");
+
+			for (int i = 0; i < histogram.length; i++) {
+				if (i > 0) {
+					result.append(", ");
+				}
+
+				result.append(i < HISTOGRAM_BOUNDS.length ?
+				              "<" + (int) HISTOGRAM_BOUNDS[i] :
+				              ">=" + (int) HISTOGRAM_BOUNDS[i - 1]);
+				result.append(": ").append(histogram[i]);
+			}
+
+			return result.append(']').toString();
+		}
+
+		/**
+		 * Records a single dispatch.
+		 *
+		 * @param latency The dispatch latency in milliseconds
+		 */
+		void record(double latency) {
+			int bucket = 0;
+
+			while (bucket < HISTOGRAM_BOUNDS.length &&
+				latency >= HISTOGRAM_BOUNDS[bucket]) {
+				bucket++;
+			}
+
+			histogram[bucket]++;
+			count++;
+			totalTime += latency;
+			maxTime = Math.max(maxTime, latency);
+		}
+	}
+}
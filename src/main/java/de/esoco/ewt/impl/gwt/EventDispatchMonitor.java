@@ -0,0 +1,39 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.impl.gwt;
+
+import de.esoco.ewt.component.Component;
+import de.esoco.ewt.event.EventType;
+
+/**
+ * An interface for the global monitoring of the dispatching of events to
+ * component event handlers. Registered with
+ * {@link Component#setEventDispatchMonitor(EventDispatchMonitor)}.
+ */
+public interface EventDispatchMonitor {
+
+	/**
+	 * Will be invoked to dispatch an event to the handler of a component.
+	 * Implementations must always run the dispatch code exactly once.
+	 *
+	 * @param component The component that dispatches the event
+	 * @param eventType The type of the dispatched event
+	 * @param dispatch  The code that notifies the event handler
+	 */
+	public void monitorDispatch(Component component, EventType eventType,
+		Runnable dispatch);
+}
@@ -28,11 +28,8 @@ import com.google.gwt.event.dom.client.MouseOutEvent;
 import com.google.gwt.event.dom.client.MouseOutHandler;
 import com.google.gwt.event.dom.client.MouseUpEvent;
 import com.google.gwt.event.dom.client.MouseUpHandler;
-import com.google.gwt.event.logical.shared.ResizeEvent;
-import com.google.gwt.event.logical.shared.ResizeHandler;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.Timer;
-import com.google.gwt.user.client.Window;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.Image;
 import com.google.gwt.user.client.ui.LayoutPanel;
@@ -56,7 +53,7 @@ public class GwtTabPanel extends TabLayoutPanel {
 
 	private Image scrollRightButton;
 
-	private HandlerRegistration windowResizeHandler;
+	private HandlerRegistration resizeRegistration;
 
 	/**
 	 * Creates a new instance.
@@ -188,13 +185,10 @@ public class GwtTabPanel extends TabLayoutPanel {
 	protected void onLoad() {
 		super.onLoad();
 
-		if (windowResizeHandler == null) {
-			windowResizeHandler = Window.addResizeHandler(new ResizeHandler() {
-				@Override
-				public void onResize(ResizeEvent event) {
-					checkShowScrollButtons(null);
-				}
-			});
+		if (resizeRegistration == null) {
+			resizeRegistration = ResizeService
+				.get()
+				.observe(getElement(), () -> checkShowScrollButtons(null));
 		}
 	}
 
@@ -205,9 +199,9 @@ public class GwtTabPanel extends TabLayoutPanel {
 	protected void onUnload() {
 		super.onUnload();
 
-		if (windowResizeHandler != null) {
-			windowResizeHandler.removeHandler();
-			windowResizeHandler = null;
+		if (resizeRegistration != null) {
+			resizeRegistration.removeHandler();
+			resizeRegistration = null;
 		}
 	}
 
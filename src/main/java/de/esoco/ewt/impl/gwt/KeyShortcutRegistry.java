@@ -0,0 +1,361 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.impl.gwt;
+
+import de.esoco.ewt.component.Component;
+import de.esoco.ewt.event.EventType;
+import de.esoco.ewt.event.EwtEvent;
+import de.esoco.ewt.event.EwtEventHandler;
+import de.esoco.ewt.event.KeyCode;
+import de.esoco.ewt.event.ModifierKeys;
+
+import de.esoco.lib.datatype.Pair;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.EventTarget;
+import com.google.gwt.dom.client.NativeEvent;
+
+/**
+ * A registry for keyboard shortcuts that maps key sequences to event handlers.
+ * The registered sequences are stored in a trie of key strokes so that a key
+ * event only needs a single lookup in the current trie node to find the
+ * matching handler. A sequence of multiple key strokes defines a chord (like
+ * Ctrl+K, Ctrl+S) where all but the last stroke act as prefixes that are
+ * consumed while the registry waits for the next stroke.
+ *
+ * <p>Shortcuts can be scoped to a certain component (typically a view). A
+ * scoped shortcut will only be invoked if the target element of the key event
+ * is inside the scope component. If multiple scopes match the innermost scope
+ * wins. Shortcuts without a scope are global and will only be invoked if no
+ * scoped shortcut matches. A key sequence that is a prefix of another
+ * registered sequence will always be treated as a chord prefix and its own
+ * handlers will not be invoked.</p>
+ *
+ * <p>This class is intended to be used internally by GEWT only. Applications
+ * should register shortcuts through the corresponding methods of
+ * {@link de.esoco.ewt.UserInterfaceContext}.</p>
+ */
+public class KeyShortcutRegistry {
+
+	private final KeyNode root = new KeyNode();
+
+	private final Map<Component, Integer> scopeShortcuts = new HashMap<>();
+
+	private KeyNode currentNode = root;
+
+	/**
+	 * Adds a shortcut handler for a certain key sequence. An existing handler
+	 * for the same sequence and scope will be replaced.
+	 *
+	 * @param keySequence The sequence of modifiers and key codes
+	 * @param scope       The component to restrict the shortcut to or NULL
+	 *                    for a global shortcut
+	 * @param handler     The event handler to be invoked for the shortcut
+	 * @throws IllegalArgumentException If the key sequence is empty
+	 */
+	public void add(List<Pair<ModifierKeys, KeyCode>> keySequence,
+		Component scope, EwtEventHandler handler) {
+		if (keySequence.isEmpty()) {
+			throw new IllegalArgumentException("Empty shortcut key sequence");
+		}
+
+		KeyNode node = root;
+
+		for (Pair<ModifierKeys, KeyCode> key : keySequence) {
+			node = node.getOrCreateChild(key);
+		}
+
+		if (node.handlers.put(scope, handler) == null && scope != null) {
+			Integer count = scopeShortcuts.get(scope);
+
+			scopeShortcuts.put(scope, count != null ? count + 1 : 1);
+		}
+	}
+
+	/**
+	 * Checks whether this registry contains any shortcuts.
+	 *
+	 * @return TRUE if no shortcuts are registered
+	 */
+	public boolean isEmpty() {
+		return root.children == null;
+	}
+
+	/**
+	 * Processes a native key down event and invokes the handler of a
+	 * matching
+	 * shortcut if such exists. If the event matches a chord prefix the
+	 * registry
+	 * will wait for the next key stroke of the chord.
+	 *
+	 * @param source The source object for the event if the shortcut has no
+	 *               scope
+	 * @param event  The native key down event
+	 * @return TRUE if the event has been consumed by a shortcut or a chord
+	 * prefix, FALSE if it doesn't match a registered shortcut
+	 */
+	public boolean processKeyEvent(Object source, NativeEvent event) {
+		KeyCode keyCode = EwtEvent.mapGwtKeyCode(event);
+
+		if (keyCode == null || isModifierKey(keyCode)) {
+			// modifiers alone neither match nor interrupt a chord
+			return false;
+		}
+
+		Pair<ModifierKeys, KeyCode> key =
+			Pair.of(EwtEvent.mapGwtModifiers(event), keyCode);
+
+		KeyNode node = currentNode.getChild(key);
+
+		if (node == null && currentNode != root) {
+			// restart from the root if a pending chord has been interrupted
+			node = root.getChild(key);
+		}
+
+		currentNode = root;
+
+		boolean consumed = false;
+
+		if (node != null) {
+			if (node.children != null) {
+				currentNode = node;
+				consumed = true;
+			} else {
+				Element target = getTargetElement(event);
+				Component scope = node.findScope(target);
+				EwtEventHandler handler = node.handlers.get(scope);
+
+				if (handler != null) {
+					handler.handleEvent(EwtEvent.getEvent(
+						scope != null ? scope : source, null,
+						EventType.KEY_PRESSED, event));
+					consumed = true;
+				}
+			}
+		}
+
+		return consumed;
+	}
+
+	/**
+	 * Removes the shortcut handler for a certain key sequence and scope.
+	 *
+	 * @param keySequence The key sequence of the shortcut
+	 * @param scope       The scope of the shortcut or NULL for a global
+	 *                    shortcut
+	 */
+	public void remove(List<Pair<ModifierKeys, KeyCode>> keySequence,
+		Component scope) {
+		if (root.remove(keySequence, 0, scope) && scope != null) {
+			int count = scopeShortcuts.get(scope) - 1;
+
+			if (count > 0) {
+				scopeShortcuts.put(scope, count);
+			} else {
+				scopeShortcuts.remove(scope);
+			}
+		}
+
+		currentNode = root;
+	}
+
+	/**
+	 * Removes all shortcuts that are registered for a certain scope.
+	 *
+	 * @param scope The scope component
+	 */
+	public void removeAll(Component scope) {
+		if (scopeShortcuts.remove(scope) != null) {
+			root.removeScope(scope);
+			currentNode = root;
+		}
+	}
+
+	/**
+	 * Returns the DOM element that is the target of a native event.
+	 *
+	 * @param event The native event
+	 * @return The target element or NULL if the target is not an element
+	 */
+	private Element getTargetElement(NativeEvent event) {
+		EventTarget target = event.getEventTarget();
+
+		return target != null && Element.is(target) ? Element.as(target) : null;
+	}
+
+	/**
+	 * Checks whether a key code represents a modifier key.
+	 *
+	 * @param keyCode The key code to check
+	 * @return TRUE for a modifier key code
+	 */
+	private boolean isModifierKey(KeyCode keyCode) {
+		return keyCode == KeyCode.SHIFT || keyCode == KeyCode.CONTROL ||
+			keyCode == KeyCode.ALT || keyCode == KeyCode.META;
+	}
+
+	/**
+	 * A node in the key stroke trie.
+	 */
+	private static class KeyNode {
+
+		private final Map<Component, EwtEventHandler> handlers =
+			new HashMap<>(1);
+
+		private Map<Pair<ModifierKeys, KeyCode>, KeyNode> children;
+
+		/**
+		 * Returns the innermost scope of this node that contains a certain
+		 * element. If no scoped handler matches NULL will be returned to
+		 * select
+		 * a global handler.
+		 *
+		 * @param target The target element of the event (may be NULL)
+		 * @return The matching scope or NULL for the global scope
+		 */
+		Component findScope(Element target) {
+			Component result = null;
+
+			if (target != null) {
+				for (Component scope : handlers.keySet()) {
+					if (scope != null && scope.getWidget().isAttached()) {
+						Element scopeElement = scope.getElement();
+
+						if (scopeElement.isOrHasChild(target) &&
+							(result == null ||
+								result.getElement().isOrHasChild(scopeElement))) {
+							result = scope;
+						}
+					}
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * Returns the child node for a certain key.
+		 *
+		 * @param key The key
+		 * @return The child node or NULL for none
+		 */
+		KeyNode getChild(Pair<ModifierKeys, KeyCode> key) {
+			return children != null ? children.get(key) : null;
+		}
+
+		/**
+		 * Returns the child node for a certain key and creates it if
+		 * necessary.
+		 *
+		 * @param key The key
+		 * @return The child node
+		 */
+		KeyNode getOrCreateChild(Pair<ModifierKeys, KeyCode> key) {
+			if (children == null) {
+				children = new HashMap<>();
+			}
+
+			KeyNode child = children.get(key);
+
+			if (child == null) {
+				child = new KeyNode();
+				children.put(key, child);
+			}
+
+			return child;
+		}
+
+		/**
+		 * Checks whether this node neither has handlers nor children.
+		 *
+		 * @return TRUE if this node can be pruned from the trie
+		 */
+		boolean isEmpty() {
+			return handlers.isEmpty() && children == null;
+		}
+
+		/**
+		 * Recursively removes the handler for a key sequence and prunes empty
+		 * nodes.
+		 *
+		 * @param keySequence The key sequence
+		 * @param index       The index of the key that leads to the next
+		 *                    child
+		 * @param scope       The scope of the handler to remove
+		 * @return TRUE if a handler has been removed
+		 */
+		boolean remove(List<Pair<ModifierKeys, KeyCode>> keySequence,
+			int index, Component scope) {
+			boolean removed = false;
+
+			if (index == keySequence.size()) {
+				removed = handlers.containsKey(scope);
+				handlers.remove(scope);
+			} else {
+				Pair<ModifierKeys, KeyCode> key = keySequence.get(index);
+				KeyNode child = getChild(key);
+
+				if (child != null) {
+					removed = child.remove(keySequence, index + 1, scope);
+					removeChildIfEmpty(key, child);
+				}
+			}
+
+			return removed;
+		}
+
+		/**
+		 * Recursively removes all handlers for a certain scope and prunes
+		 * empty nodes.
+		 *
+		 * @param scope The scope to remove
+		 */
+		void removeScope(Component scope) {
+			handlers.remove(scope);
+
+			if (children != null) {
+				for (Entry<Pair<ModifierKeys, KeyCode>, KeyNode> entry :
+					new HashMap<>(children).entrySet()) {
+					entry.getValue().removeScope(scope);
+					removeChildIfEmpty(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+
+		/**
+		 * Removes a child node if it is empty.
+		 *
+		 * @param key   The key of the child
+		 * @param child The child node
+		 */
+		private void removeChildIfEmpty(Pair<ModifierKeys, KeyCode> key,
+			KeyNode child) {
+			if (child.isEmpty()) {
+				children.remove(key);
+
+				if (children.isEmpty()) {
+					children = null;
+				}
+			}
+		}
+	}
+}
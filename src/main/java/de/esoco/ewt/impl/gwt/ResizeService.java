@@ -0,0 +1,214 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.impl.gwt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Window;
+
+/**
+ * A central service that notifies handlers when the size of certain elements
+ * changes. It is based on a single browser {@code ResizeObserver} so that
+ * only the handlers of elements whose own box has changed are invoked instead
+ * of propagating window resize events through the whole widget tree. The
+ * notifications are coalesced and executed as write operations of the
+ * {@link DomBatch} so that each handler is invoked at most once per animation
+ * frame, even if the size of an element changes multiple times.
+ *
+ * <p>A handler will also be invoked once after the observation of an element
+ * has started. In browsers that don't support {@code ResizeObserver} all
+ * handlers will be notified on window resize events instead.</p>
+ */
+public class ResizeService {
+
+	private static final ResizeService INSTANCE = new ResizeService();
+
+	private final Map<Element, Runnable> resizeHandlers = new HashMap<>();
+
+	private final Set<Element> resizedElements = new LinkedHashSet<>();
+
+	private JavaScriptObject resizeObserver = null;
+
+	private HandlerRegistration windowResizeHandler = null;
+
+	private boolean notificationScheduled = false;
+
+	/**
+	 * Private, only used for the singleton instance.
+	 */
+	private ResizeService() {
+	}
+
+	/**
+	 * Returns the service singleton.
+	 *
+	 * @return The service instance
+	 */
+	public static ResizeService get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Checks whether the browser supports {@code ResizeObserver}.
+	 *
+	 * @return TRUE if resize observers are available
+	 */
+	public static native boolean isResizeObserverSupported() /*-{
+		return typeof $wnd.ResizeObserver === "function";
+	}-*/;
+
+	/**
+	 * Invokes the observer's observe function for an element.
+	 *
+	 * @param observer The observer
+	 * @param element  The element to observe
+	 */
+	private static native void observeElement(JavaScriptObject observer,
+		Element element) /*-{
+		observer.observe(element);
+	}-*/;
+
+	/**
+	 * Invokes the observer's unobserve function for an element.
+	 *
+	 * @param observer The observer
+	 * @param element  The element to stop observing
+	 */
+	private static native void unobserveElement(JavaScriptObject observer,
+		Element element) /*-{
+		observer.unobserve(element);
+	}-*/;
+
+	/**
+	 * Starts to observe the size of an element. If the element is already
+	 * observed the previous handler will be replaced. The returned
+	 * registration must be used to stop the observation when the element is
+	 * detached, typically in the {@code onUnload()} method of a widget. It
+	 * only has an effect as long as the handler has not been replaced so that
+	 * an outdated registration cannot remove a newer handler.
+	 *
+	 * @param element The element to observe
+	 * @param handler The handler to invoke if the element size changes
+	 * @return The registration to stop the observation
+	 */
+	public HandlerRegistration observe(Element element, Runnable handler) {
+		resizeHandlers.put(element, handler);
+
+		if (isResizeObserverSupported()) {
+			if (resizeObserver == null) {
+				resizeObserver = createResizeObserver();
+			}
+
+			observeElement(resizeObserver, element);
+		} else if (windowResizeHandler == null) {
+			windowResizeHandler = Window.addResizeHandler(e -> {
+				resizedElements.addAll(resizeHandlers.keySet());
+				scheduleNotification();
+			});
+		}
+
+		return () -> unobserve(element, handler);
+	}
+
+	/**
+	 * Creates the browser resize observer.
+	 *
+	 * @return The resize observer
+	 */
+	private native JavaScriptObject createResizeObserver() /*-{
+		var self = this;
+
+		return new $wnd.ResizeObserver($entry(function(entries) {
+			for (var i = 0; i < entries.length; i++) {
+				self.@de.esoco.ewt.impl.gwt.ResizeService::elementResized(*)(
+					entries[i].target);
+			}
+		}));
+	}-*/;
+
+	/**
+	 * Invoked by the resize observer if the size of an element has changed.
+	 *
+	 * @param element The resized element
+	 */
+	private void elementResized(Element element) {
+		if (resizeHandlers.containsKey(element)) {
+			resizedElements.add(element);
+			scheduleNotification();
+		}
+	}
+
+	/**
+	 * Notifies the handlers of all elements that have been resized since the
+	 * last notification.
+	 */
+	private void notifyResizeHandlers() {
+		List<Element> elements = new ArrayList<>(resizedElements);
+
+		notificationScheduled = false;
+		resizedElements.clear();
+
+		for (Element element : elements) {
+			Runnable handler = resizeHandlers.get(element);
+
+			if (handler != null) {
+				handler.run();
+			}
+		}
+	}
+
+	/**
+	 * Schedules the notification of the resize handlers if not yet done.
+	 */
+	private void scheduleNotification() {
+		if (!notificationScheduled) {
+			notificationScheduled = true;
+			DomBatch.get().mutate(this::notifyResizeHandlers);
+		}
+	}
+
+	/**
+	 * Stops the observation of an element if it is still observed by a
+	 * certain handler.
+	 *
+	 * @param element The element
+	 * @param handler The handler that has been registered for the element
+	 */
+	private void unobserve(Element element, Runnable handler) {
+		if (resizeHandlers.get(element) == handler) {
+			resizeHandlers.remove(element);
+			resizedElements.remove(element);
+
+			if (resizeObserver != null) {
+				unobserveElement(resizeObserver, element);
+			}
+
+			if (resizeHandlers.isEmpty() && windowResizeHandler != null) {
+				windowResizeHandler.removeHandler();
+				windowResizeHandler = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,277 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.impl.gwt;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
+
+/**
+ * A scheduler for user interface tasks that executes tasks by priority and
+ * within a per-frame time budget. Tasks of the priorities
+ * {@link Priority#INPUT} and {@link Priority#RENDER} are executed in time
+ * slices that are scheduled as deferred commands. If a slice exceeds the
+ * frame budget the remaining tasks will be executed in a subsequent slice,
+ * thus yielding to the browser for input handling and rendering. Tasks of the
+ * priority {@link Priority#BACKGROUND} are only executed when the browser is
+ * idle and no tasks with a higher priority are pending.
+ *
+ * <p>Because of the yielding tasks must not expect to be executed in the same
+ * browser event loop cycle as other tasks that have been scheduled at the
+ * same time. Tasks of the same priority are always executed in the order in
+ * which they have been scheduled.</p>
+ */
+public class UiTaskScheduler {
+
+	/**
+	 * The default frame budget in milliseconds.
+	 */
+	public static final int DEFAULT_FRAME_BUDGET = 8;
+
+	private static final UiTaskScheduler INSTANCE = new UiTaskScheduler();
+
+	private final Map<Priority, Deque<Runnable>> taskQueues =
+		new EnumMap<>(Priority.class);
+
+	private int frameBudget = DEFAULT_FRAME_BUDGET;
+
+	private boolean sliceScheduled = false;
+
+	private boolean idleCallbackScheduled = false;
+
+	/**
+	 * Private, only used for the singleton instance.
+	 */
+	private UiTaskScheduler() {
+		for (Priority priority : Priority.values()) {
+			taskQueues.put(priority, new ArrayDeque<>());
+		}
+	}
+
+	/**
+	 * Returns the scheduler singleton.
+	 *
+	 * @return The scheduler instance
+	 */
+	public static UiTaskScheduler get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the time budget for the execution of tasks in a single frame.
+	 *
+	 * @return The frame budget in milliseconds
+	 */
+	public final int getFrameBudget() {
+		return frameBudget;
+	}
+
+	/**
+	 * Checks whether tasks of a certain priority are waiting for execution.
+	 *
+	 * @param priority The task priority
+	 * @return TRUE if tasks with the given priority are pending
+	 */
+	public boolean hasPendingTasks(Priority priority) {
+		return !taskQueues.get(priority).isEmpty();
+	}
+
+	/**
+	 * Schedules a task for execution with a certain priority.
+	 *
+	 * @param priority The task priority
+	 * @param task     The task to execute
+	 */
+	public void schedule(Priority priority, Runnable task) {
+		taskQueues.get(priority).add(task);
+
+		if (priority == Priority.BACKGROUND) {
+			scheduleIdleCallback();
+		} else {
+			scheduleSlice();
+		}
+	}
+
+	/**
+	 * Sets the time budget for the execution of tasks in a single frame. At
+	 * least one task will be executed in each frame even if it exceeds the
+	 * budget.
+	 *
+	 * @param millis The frame budget in milliseconds
+	 */
+	public final void setFrameBudget(int millis) {
+		frameBudget = millis;
+	}
+
+	/**
+	 * Checks whether tasks with a priority above {@link Priority#BACKGROUND}
+	 * are pending.
+	 *
+	 * @return TRUE if foreground tasks are pending
+	 */
+	private boolean hasForegroundTasks() {
+		return hasPendingTasks(Priority.INPUT) ||
+			hasPendingTasks(Priority.RENDER);
+	}
+
+	/**
+	 * Returns the next foreground task to execute.
+	 *
+	 * @return The next task or NULL if no foreground tasks are pending
+	 */
+	private Runnable nextForegroundTask() {
+		Runnable task = taskQueues.get(Priority.INPUT).poll();
+
+		return task != null ? task : taskQueues.get(Priority.RENDER).poll();
+	}
+
+	/**
+	 * Requests the invocation of {@link #runIdleTasks(double)} when the
+	 * browser
+	 * is idle. Falls back to a timeout if the browser doesn't support idle
+	 * callbacks.
+	 */
+	private native void requestIdleCallback() /*-{
+		var self = this;
+		var callback = $entry(function (deadline) {
+			self.@de.esoco.ewt.impl.gwt.UiTaskScheduler::runIdleTasks(D)(
+				deadline ? deadline.timeRemaining() : -1);
+		});
+
+		if ($wnd.requestIdleCallback) {
+			$wnd.requestIdleCallback(callback, {timeout: 1000});
+		} else {
+			$wnd.setTimeout(callback, 50);
+		}
+	}-*/;
+
+	/**
+	 * Executes background tasks in the idle time of the browser.
+	 *
+	 * @param timeRemaining The remaining idle time in milliseconds or a
+	 *                      negative value if not available
+	 */
+	private void runIdleTasks(double timeRemaining) {
+		idleCallbackScheduled = false;
+
+		if (hasForegroundTasks()) {
+			// foreground tasks will re-schedule the idle callback when done
+			scheduleSlice();
+		} else {
+			Deque<Runnable> backgroundTasks =
+				taskQueues.get(Priority.BACKGROUND);
+
+			double end = Duration.currentTimeMillis() +
+				(timeRemaining >= 0 ? timeRemaining : frameBudget);
+
+			do {
+				runTask(backgroundTasks.poll());
+			} while (!backgroundTasks.isEmpty() && !hasForegroundTasks() &&
+				Duration.currentTimeMillis() < end);
+
+			if (hasForegroundTasks()) {
+				scheduleSlice();
+			} else if (!backgroundTasks.isEmpty()) {
+				scheduleIdleCallback();
+			}
+		}
+	}
+
+	/**
+	 * Executes foreground tasks until the frame budget is exhausted.
+	 */
+	private void runSlice() {
+		double end = Duration.currentTimeMillis() + frameBudget;
+		Runnable task;
+
+		sliceScheduled = false;
+
+		while ((task = nextForegroundTask()) != null) {
+			runTask(task);
+
+			if (Duration.currentTimeMillis() >= end) {
+				break;
+			}
+		}
+
+		if (hasForegroundTasks()) {
+			scheduleSlice();
+		} else if (hasPendingTasks(Priority.BACKGROUND)) {
+			scheduleIdleCallback();
+		}
+	}
+
+	/**
+	 * Executes a single task and reports any exception to the GWT uncaught
+	 * exception handler so that subsequent tasks will still be executed.
+	 *
+	 * @param task The task to execute
+	 */
+	private void runTask(Runnable task) {
+		try {
+			task.run();
+		} catch (RuntimeException e) {
+			GWT.reportUncaughtException(e);
+		}
+	}
+
+	/**
+	 * Schedules an idle callback if not yet done.
+	 */
+	private void scheduleIdleCallback() {
+		if (!idleCallbackScheduled && !sliceScheduled) {
+			idleCallbackScheduled = true;
+			requestIdleCallback();
+		}
+	}
+
+	/**
+	 * Schedules the execution of a time slice if not yet done.
+	 */
+	private void scheduleSlice() {
+		if (!sliceScheduled) {
+			sliceScheduled = true;
+			Scheduler.get().scheduleDeferred(this::runSlice);
+		}
+	}
+
+	/**
+	 * An enumeration of task priorities.
+	 */
+	public enum Priority {
+		/**
+		 * Tasks that respond to user input and must be executed first.
+		 */
+		INPUT,
+
+		/**
+		 * Tasks that build or update the user interface.
+		 */
+		RENDER,
+
+		/**
+		 * Low-priority tasks like prefetching that are executed when the
+		 * browser is idle.
+		 */
+		BACKGROUND
+	}
+}
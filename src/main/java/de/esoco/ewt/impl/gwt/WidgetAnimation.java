@@ -33,61 +33,88 @@ public class WidgetAnimation extends Animation {
 	public enum AnimationType {
 		FADE_IN {
 			@Override
-			void animate(Element element, double progress) {
+			void animate(Element element, double size, double progress) {
 				element.getStyle().setOpacity(progress);
 			}
 		}, FADE_OUT {
 			@Override
-			void animate(Element element, double progress) {
+			void animate(Element element, double size, double progress) {
 				element.getStyle().setOpacity(1.0d - progress);
 			}
 		}, VERTICAL_SHRINK {
 			@Override
-			void animate(Element element, double progress) {
-				double height = element.getOffsetHeight();
+			void animate(Element element, double size, double progress) {
+				element.getStyle().setHeight(size * (1.0d - progress), Unit.PX);
+			}
 
-				element
-					.getStyle()
-					.setHeight(height * (1.0d - progress), Unit.PX);
+			@Override
+			double measure(Element element) {
+				return element.getOffsetHeight();
 			}
 		}, VERTICAL_GROW {
 			@Override
-			void animate(Element element, double progress) {
-				double height = element.getOffsetHeight();
+			void animate(Element element, double size, double progress) {
+				element.getStyle().setHeight(size * progress, Unit.PX);
+			}
 
-				element.getStyle().setHeight(height * progress, Unit.PX);
+			@Override
+			double measure(Element element) {
+				return element.getOffsetHeight();
 			}
 		}, HORIZONTAL_SHRINK {
 			@Override
-			void animate(Element element, double progress) {
-				double width = element.getOffsetWidth();
+			void animate(Element element, double size, double progress) {
+				element.getStyle().setHeight(size * (1.0d - progress), Unit.PX);
+			}
 
-				element
-					.getStyle()
-					.setHeight(width * (1.0d - progress), Unit.PX);
+			@Override
+			double measure(Element element) {
+				return element.getOffsetWidth();
 			}
 		}, HORIZONTAL_GROW {
 			@Override
-			void animate(Element element, double progress) {
-				double width = element.getOffsetWidth();
+			void animate(Element element, double size, double progress) {
+				element.getStyle().setHeight(size * progress, Unit.PX);
+			}
 
-				element.getStyle().setHeight(width * progress, Unit.PX);
+			@Override
+			double measure(Element element) {
+				return element.getOffsetWidth();
 			}
 		};
 
 		/**
-		 * Animates a certain element with this animation type.
+		 * Animates a certain element with this animation type. This method
+		 * must only modify the element but not read layout properties to
+		 * prevent a layout calculation in each animation frame.
 		 *
 		 * @param element  The element to animate
+		 * @param size     The size of the element as returned by
+		 *                 {@link #measure(Element)} at the animation start
 		 * @param progress The current animation progress
 		 */
-		abstract void animate(Element element, double progress);
+		abstract void animate(Element element, double size, double progress);
+
+		/**
+		 * Measures the size of an element that is needed by this animation
+		 * type. Will be invoked once when an animation starts. The default
+		 * implementation returns zero for animations that don't depend on the
+		 * element size.
+		 *
+		 * @param element The element to measure
+		 * @return The element size
+		 */
+		double measure(Element element) {
+			return 0;
+		}
 	}
 
 	private final Widget widget;
 
 	private WidgetAnimation.AnimationType currentType;
 
+	private double startSize;
+
 	/**
 	 * Creates a new instance for a certain element.
 	 *
@@ -119,11 +146,24 @@ public class WidgetAnimation extends Animation {
 		run(duration);
 	}
 
+	/**
+	 * Overridden to measure the widget size once at the start of the
+	 * animation.
+	 *
+	 * @see Animation#onStart()
+	 */
+	@Override
+	protected void onStart() {
+		startSize = currentType.measure(widget.getElement());
+
+		super.onStart();
+	}
+
 	/**
 	 * @see Animation#onUpdate(double)
 	 */
 	@Override
 	protected void onUpdate(double progress) {
-		currentType.animate(widget.getElement(), progress);
+		currentType.animate(widget.getElement(), startSize, progress);
 	}
 }
@@ -122,6 +122,12 @@ public class WindowBox extends DialogBox implements HasOpenHandlers<WindowBox> {
 
 	private boolean minimized;
 
+	private boolean resizePending;
+
+	private int pendingResizeX;
+
+	private int pendingResizeY;
+
 	/**
 	 * Creates a DialogBox which is permanent (no auto-hide), non-modal, has a
 	 * "minimize"- and "close"-button in the top-right corner and is not
@@ -684,50 +690,20 @@ public class WindowBox extends DialogBox implements HasOpenHandlers<WindowBox> {
 
 	/**
 	 * Convenience method to set the height, width and position of the given
-	 * widget
+	 * widget. The resizing is performed with {@link DomBatch} in separate
+	 * layout read and write phases and multiple drag movements in the same
+	 * animation frame are combined into a single resize.
 	 */
 	protected void dragResizeWidget(PopupPanel panel, int dx, int dy) {
-		int x = this.getPopupLeft();
-		int y = this.getPopupTop();
+		pendingResizeX += dx;
+		pendingResizeY += dy;
 
-		Widget widget = panel.getWidget();
+		if (!resizePending) {
+			resizePending = true;
 
-		// left + right
-		if ((this.dragMode % 3) != 1) {
-			int w = widget.getOffsetWidth();
+			int mode = this.dragMode;
 
-			// left edge -> move left
-			if ((this.dragMode % 3) == 0) {
-				x += dx;
-				w -= dx;
-			} else {
-				w += dx;
-			}
-
-			w = w < this.minWidth ? this.minWidth : w;
-
-			widget.setWidth(w + "px");
-		}
-
-		// up + down
-		if ((this.dragMode / 3) != 1) {
-			int h = widget.getOffsetHeight();
-
-			// up = dy is negative
-			if ((this.dragMode / 3) == 0) {
-				y += dy;
-				h -= dy;
-			} else {
-				h += dy;
-			}
-
-			h = h < this.minHeight ? this.minHeight : h;
-
-			widget.setHeight(h + "px");
-		}
-
-		if (this.dragMode / 3 == 0 || this.dragMode % 3 == 0) {
-			panel.setPopupPosition(x, y);
+			DomBatch.get().measure(() -> measureDragResize(panel, mode));
 		}
 	}
 
@@ -864,4 +840,76 @@ public class WindowBox extends DialogBox implements HasOpenHandlers<WindowBox> {
 		return clientY - resize.getAbsoluteTop() + resize.getScrollTop() +
 			resize.getOwnerDocument().getScrollTop();
 	}
+
+	/**
+	 * Calculates the new size and position of a panel that is resized by
+	 * dragging and queues the DOM modifications. Invoked from the read phase
+	 * of {@link DomBatch}.
+	 *
+	 * @param panel    The panel to resize
+	 * @param dragMode The drag mode at the time of the drag movement
+	 */
+	private void measureDragResize(PopupPanel panel, int dragMode) {
+		int dx = pendingResizeX;
+		int dy = pendingResizeY;
+		int x = this.getPopupLeft();
+		int y = this.getPopupTop();
+		int w = -1;
+		int h = -1;
+
+		Widget widget = panel.getWidget();
+
+		pendingResizeX = pendingResizeY = 0;
+		resizePending = false;
+
+		// left + right
+		if ((dragMode % 3) != 1) {
+			w = widget.getOffsetWidth();
+
+			// left edge -> move left
+			if ((dragMode % 3) == 0) {
+				x += dx;
+				w -= dx;
+			} else {
+				w += dx;
+			}
+
+			w = w < this.minWidth ? this.minWidth : w;
+		}
+
+		// up + down
+		if ((dragMode / 3) != 1) {
+			h = widget.getOffsetHeight();
+
+			// up = dy is negative
+			if ((dragMode / 3) == 0) {
+				y += dy;
+				h -= dy;
+			} else {
+				h += dy;
+			}
+
+			h = h < this.minHeight ? this.minHeight : h;
+		}
+
+		boolean move = dragMode / 3 == 0 || dragMode % 3 == 0;
+		int width = w;
+		int height = h;
+		int left = x;
+		int top = y;
+
+		DomBatch.get().mutate(() -> {
+			if (width >= 0) {
+				widget.setWidth(width + "px");
+			}
+
+			if (height >= 0) {
+				widget.setHeight(height + "px");
+			}
+
+			if (move) {
+				panel.setPopupPosition(left, top);
+			}
+		});
+	}
 }
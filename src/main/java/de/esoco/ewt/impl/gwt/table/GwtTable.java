@@ -52,7 +52,6 @@ import com.google.gwt.user.client.ui.HasVerticalAlignment;
 import com.google.gwt.user.client.ui.Image;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.PopupPanel;
-import com.google.gwt.user.client.ui.RequiresResize;
 import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.user.client.ui.Widget;
 import de.esoco.ewt.EWT;
@@ -65,6 +64,9 @@ import de.esoco.ewt.graphics.ImageRef;
 import de.esoco.ewt.impl.gwt.GewtCss;
 import de.esoco.ewt.impl.gwt.GewtEventDispatcher;
 import de.esoco.ewt.impl.gwt.GewtResources;
+import de.esoco.ewt.impl.gwt.ResizeService;
+import de.esoco.ewt.impl.gwt.UiTaskScheduler;
+import de.esoco.ewt.impl.gwt.UiTaskScheduler.Priority;
 import de.esoco.ewt.impl.gwt.ValueFormat;
 import de.esoco.lib.model.Callback;
 import de.esoco.lib.model.ColumnDefinition;
@@ -82,12 +84,13 @@ import static de.esoco.lib.property.StyleProperties.HAS_IMAGES;
 
 /**
  * A GWT-implementation of a composite that can display tabular data. It also
- * supports the display of hierarchical data.
+ * supports the display of hierarchical data. Size changes of the table are
+ * detected through the {@link ResizeService} while it is attached.
  */
 public class GwtTable extends Composite
 	implements IsTableControlWidget, HasAllFocusHandlers, HasAllKeyHandlers,
 	HasClickHandlers, HasDoubleClickHandlers, ClickHandler, KeyDownHandler,
-	RequiresResize, Callback<RemoteDataModel<DataModel<?>>> {
+	Callback<RemoteDataModel<DataModel<?>>> {
 
 	static final GewtResources RES = GewtResources.INSTANCE;
 
@@ -145,6 +148,14 @@ public class GwtTable extends Composite
 
 	private int dataHeight = 0;
 
+	private int rowHeight = 0;
+
+	private int tableWidth = 0;
+
+	private int tableHeight = 0;
+
+	private HandlerRegistration resizeRegistration = null;
+
 	private DataModel<?> currentSelection;
 
 	private int selectedRow = -1;
@@ -415,25 +426,6 @@ public class GwtTable extends Composite
 		}
 	}
 
-	/**
-	 * @see RequiresResize#onResize()
-	 */
-	@Override
-	public void onResize() {
-		if (mainPanel.getOffsetHeight() > 0) {
-			setHeightLocked(false);
-
-			setRowUnselected(selectedRow);
-
-			if (newSelection == -1 && selectedRow >= 0) {
-				newSelection = firstRow + selectedRow;
-			}
-
-			collapseAllNodes();
-			deferredUpdate(false);
-		}
-	}
-
 	/**
 	 * Response handling for remote model invocations.
 	 *
@@ -663,12 +655,45 @@ public class GwtTable extends Composite
 			collapseAllNodes();
 
 			// invoke update later to wait for the table to resize
-			Scheduler.get().scheduleDeferred(new ScheduledCommand() {
-				@Override
-				public void execute() {
-					deferredUpdate(true);
-				}
-			});
+			UiTaskScheduler
+				.get()
+				.schedule(Priority.RENDER, () -> deferredUpdate(true));
+		}
+	}
+
+	/**
+	 * Overridden to invalidate the measured row height because font or CSS
+	 * changes while the table was detached can change it. The next size
+	 * calculation will then measure it again. Also starts the observation of
+	 * the table size.
+	 *
+	 * @see Composite#onLoad()
+	 */
+	@Override
+	protected void onLoad() {
+		super.onLoad();
+
+		rowHeight = 0;
+		dataWidth = 0;
+
+		if (resizeRegistration == null) {
+			resizeRegistration =
+				ResizeService.get().observe(getElement(), this::checkResize);
+		}
+	}
+
+	/**
+	 * Overridden to stop the observation of the table size.
+	 *
+	 * @see Composite#onUnload()
+	 */
+	@Override
+	protected void onUnload() {
+		super.onUnload();
+
+		if (resizeRegistration != null) {
+			resizeRegistration.removeHandler();
+			resizeRegistration = null;
 		}
 	}
 
@@ -1075,18 +1100,30 @@ public class GwtTable extends Composite
 
 		if (width > 0 && height > 0 &&
 			(dataWidth != width || dataHeight != height)) {
+			boolean widthChanged = dataWidth != width;
+
 			dataHeight = height;
 			dataWidth = width;
 
 			header.calcColumnWidths();
 			setHeightLocked(toolBar.isHeightLocked());
 
-			initDataRow(null, null, 0);
+			// remember the size after locking so that resize notifications
+			// caused by the lock itself are ignored (see checkResize())
+			tableWidth = getOffsetWidth();
+			tableHeight = getOffsetHeight();
+
+			// measuring the row height requires a forced layout of a temporary
+			// row; the height can only change if the table width has changed
+			// or if styles have changed while detached (see onLoad())
+			if (widthChanged || rowHeight <= 0) {
+				initDataRow(null, null, 0);
 
-			int rowHeight =
-				dataTable.getRowFormatter().getElement(0).getOffsetHeight();
+				rowHeight =
+					dataTable.getRowFormatter().getElement(0).getOffsetHeight();
 
-			dataTable.removeRow(0);
+				dataTable.removeRow(0);
+			}
 
 			if (rowHeight > 0) {
 				tableRows = dataHeight / rowHeight;
@@ -1154,6 +1191,31 @@ public class GwtTable extends Composite
 		}
 	}
 
+	/**
+	 * Invoked by the {@link ResizeService} if the size of the table element
+	 * may have changed. Because the table changes it's own height when the
+	 * height is locked or unlocked the resize handling is only performed if
+	 * the size differs from the last size that has been recorded by the table
+	 * itself. This prevents a resize loop between the observer and the height
+	 * lock. A size of zero is ignored because it is reported while the table
+	 * is not displayed, e.g. if the content of a hidden page of a
+	 * {@link de.esoco.ewt.component.SwitchPanel} has been detached. Handling
+	 * it would reset the table state (like expanded nodes) when it is
+	 * displayed again with it's previous size.
+	 */
+	private void checkResize() {
+		int width = getOffsetWidth();
+		int height = getOffsetHeight();
+
+		if ((width > 0 || height > 0) &&
+			(width != tableWidth || height != tableHeight)) {
+			tableWidth = width;
+			tableHeight = height;
+
+			resizeTable();
+		}
+	}
+
 	/**
 	 * Clears a certain row. If the row doesn't exist it will be added to the
 	 * table.
@@ -1559,6 +1621,25 @@ public class GwtTable extends Composite
 		columnsChanged = false;
 	}
 
+	/**
+	 * Adapts the table to a changed size by unlocking the height and
+	 * performing a deferred update of the visible rows.
+	 */
+	private void resizeTable() {
+		if (mainPanel.getOffsetHeight() > 0) {
+			setHeightLocked(false);
+
+			setRowUnselected(selectedRow);
+
+			if (newSelection == -1 && selectedRow >= 0) {
+				newSelection = firstRow + selectedRow;
+			}
+
+			collapseAllNodes();
+			deferredUpdate(false);
+		}
+	}
+
 	/**
 	 * Sets a cell image from the raw cell value.
 	 *
@@ -1577,7 +1658,7 @@ public class GwtTable extends Composite
 				context.createImage(imageName);
 
 			if (cellImage instanceof ImageRef) {
-				Image image = ((ImageRef) cellImage).getGwtImage();
+				Image image = ((ImageRef) cellImage).createGwtImage();
 
 				image.setTitle(context.expandResource(value));
 				dataTable.setWidget(row, col, image);
@@ -1709,12 +1790,9 @@ public class GwtTable extends Composite
 			}
 
 			if (newSelection >= 0) {
-				Scheduler.get().scheduleDeferred(new ScheduledCommand() {
-					@Override
-					public void execute() {
-						setSelection(newSelection);
-						newSelection = -1;
-					}
+				UiTaskScheduler.get().schedule(Priority.INPUT, () -> {
+					setSelection(newSelection);
+					newSelection = -1;
 				});
 			}
 		}
@@ -37,7 +37,8 @@ import de.esoco.lib.property.Alignment;
  * layout element can be set as a constraint either by one of the enumerated
  * style data constants in the class {@link AlignedPosition}. This
  * implementation is based on a GWT {@link FlexTable}. A simpler version that
- * uses a layout panel instead is provided by the class {@link DockLayout}.
+ * uses a layout panel instead is provided by the class {@link DockLayout} and
+ * a version based on a CSS grid by {@link GridEdgeLayout}.
  *
  * @author eso
  */
@@ -300,7 +301,11 @@ public class EdgeLayout extends GenericLayout {
 
 	/**
 	 * An inner class that implements the resize handling for the center
-	 * widget.
+	 * widget. It forwards resize events only to center widgets that implement
+	 * {@link RequiresResize}, like the GWT layout panels. Widgets that observe
+	 * their own size through the
+	 * {@link de.esoco.ewt.impl.gwt.ResizeService} (like tables) don't depend
+	 * on this.
 	 *
 	 * @author eso
 	 */
@@ -21,7 +21,14 @@ import de.esoco.ewt.style.StyleData;
 
 import de.esoco.lib.property.Fluent;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.Style;
+import com.google.gwt.dom.client.StyleInjector;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.HasWidgets;
 import com.google.gwt.user.client.ui.Widget;
@@ -33,11 +40,31 @@ import com.google.gwt.user.client.ui.Widget;
  * {@link #addWidget(HasWidgets, com.google.gwt.user.client.ui.Widget,
  * StyleData, int)} to set the style that are CSS speci
  *
+ * <p>The CSS properties that are set by the subclass methods are not applied
+ * as inline styles. Instead a CSS class is generated for each distinct set
+ * of properties and injected once as a stylesheet rule. The layout container
+ * and the widgets then only receive the generated class names so that
+ * containers and items with the same configuration share a single rule. The
+ * selector of the rules repeats the class name which gives them a specificity
+ * of two classes. Unlike the inline styles that have been used before they
+ * can therefore be overridden by application rules with an ID selector or
+ * with at least two classes. Because injected rules cannot be removed the
+ * number of generated classes is limited. If the limit has been reached any
+ * further distinct property sets are applied as inline styles.</p>
+ *
  * @author eso
  */
 public abstract class FluentCssLayout<L extends FluentCssLayout<L>>
 	extends GenericLayout implements Fluent<L> {
 
+	private static final String CSS_CLASS_PREFIX = "ewt-css-";
+
+	private static final int MAX_CSS_CLASSES = 500;
+
+	private static final Map<String, String> cssClasses = new HashMap<>();
+
+	private static Element styleElement = null;
+
 	/**
 	 * Creates a new instance.
 	 */
@@ -52,9 +79,8 @@ public abstract class FluentCssLayout<L extends FluentCssLayout<L>>
 		StyleData styleData, int index) {
 		super.addWidget(container, widget, styleData, index);
 
-		Style style = widget.getElement().getStyle();
-
-		applyWidgetStyle(styleData, style);
+		applyCss(widget.getElement(),
+			style -> applyWidgetStyle(styleData, style));
 	}
 
 	/**
@@ -64,17 +90,17 @@ public abstract class FluentCssLayout<L extends FluentCssLayout<L>>
 	public HasWidgets createLayoutContainer(Container container,
 		StyleData styleData) {
 		FlowPanel panel = new FlowPanel();
-		Style style = panel.getElement().getStyle();
 
-		applyLayoutStyle(styleData, style);
+		applyCss(panel.getElement(),
+			style -> applyLayoutStyle(styleData, style));
 
 		return panel;
 	}
 
 	/**
 	 * Must be implemented to apply the CSS properties for the layout
-	 * parameters
-	 * to the style of the layout container.
+	 * parameters to the style of the layout container. The style will be
+	 * converted into a shared CSS class.
 	 *
 	 * @param styleData The style data of the EWT container
 	 * @param style     The style of the layout container
@@ -84,9 +110,87 @@ public abstract class FluentCssLayout<L extends FluentCssLayout<L>>
 	/**
 	 * Must be implemented to apply the CSS layout properties for a widget when
 	 * it is added by {@link #addWidget(HasWidgets, Widget, StyleData, int)}.
+	 * The style will be converted into a shared CSS class.
 	 *
 	 * @param styleData The style data of the EWT component
 	 * @param style     The target style to set the layout properties on
 	 */
 	protected abstract void applyWidgetStyle(StyleData styleData, Style style);
+
+	/**
+	 * Applies the CSS properties that are set by a style function to an
+	 * element. The properties are collected on a detached element and
+	 * serialized by the browser so that equal configurations result in the
+	 * same declarations. Any CSS class that has previously been generated for
+	 * the element is removed so that re-added widgets don't accumulate stale
+	 * layout rules.
+	 *
+	 * @param element    The element to apply the properties to
+	 * @param applyStyle The function that sets the CSS properties on a style
+	 */
+	private static void applyCss(Element element, Consumer<Style> applyStyle) {
+		if (styleElement == null) {
+			styleElement = Document.get().createDivElement();
+		}
+
+		Style style = styleElement.getStyle();
+
+		style.setProperty("cssText", "");
+		applyStyle.accept(style);
+		removeCssClasses(element);
+
+		String cssText = style.getProperty("cssText");
+
+		if (cssText != null && !cssText.isEmpty()) {
+			String cssClass = getCssClass(cssText);
+
+			if (cssClass != null) {
+				element.addClassName(cssClass);
+			} else {
+				Style elementStyle = element.getStyle();
+				String inlineCss = elementStyle.getProperty("cssText");
+
+				if (inlineCss != null && !inlineCss.isEmpty()) {
+					cssText = inlineCss + ";" + cssText;
+				}
+
+				elementStyle.setProperty("cssText", cssText);
+			}
+		}
+	}
+
+	/**
+	 * Returns the name of the generated CSS class for a string of CSS
+	 * declarations. A new rule is injected if no class exists yet for the
+	 * declarations and the maximum number of classes has not been reached.
+	 *
+	 * @param cssText The CSS declarations
+	 * @return The CSS class name or NULL if the class limit has been reached
+	 */
+	private static String getCssClass(String cssText) {
+		String cssClass = cssClasses.get(cssText);
+
+		if (cssClass == null && cssClasses.size() < MAX_CSS_CLASSES) {
+			cssClass = CSS_CLASS_PREFIX + cssClasses.size();
+			cssClasses.put(cssText, cssClass);
+
+			StyleInjector.injectAtEnd(
+				"." + cssClass + "." + cssClass + " {" + cssText + "}");
+		}
+
+		return cssClass;
+	}
+
+	/**
+	 * Removes all generated CSS classes from an element.
+	 *
+	 * @param element The element
+	 */
+	private static void removeCssClasses(Element element) {
+		for (String className : element.getClassName().split(" ")) {
+			if (className.startsWith(CSS_CLASS_PREFIX)) {
+				element.removeClassName(className);
+			}
+		}
+	}
 }
@@ -0,0 +1,236 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.layout;
+
+import de.esoco.ewt.EWT;
+import de.esoco.ewt.component.Container;
+import de.esoco.ewt.style.AlignedPosition;
+import de.esoco.ewt.style.StyleData;
+import de.esoco.lib.property.Alignment;
+
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.user.client.ui.FlowPanel;
+import com.google.gwt.user.client.ui.HasWidgets;
+import com.google.gwt.user.client.ui.Panel;
+import com.google.gwt.user.client.ui.ProvidesResize;
+import com.google.gwt.user.client.ui.RequiresResize;
+import com.google.gwt.user.client.ui.Widget;
+
+/**
+ * A variant of {@link EdgeLayout} that is based on a CSS grid instead of a
+ * GWT {@link com.google.gwt.user.client.ui.FlexTable}. It supports the same
+ * {@link AlignedPosition} constraints but renders all widgets as direct
+ * children of a single grid element. The center row and column take up the
+ * remaining space of the container so that no resize calculations are
+ * needed. Like in {@link EdgeLayout} a widget in the center column of a row
+ * without edge widgets spans the full width of the layout.
+ */
+public class GridEdgeLayout extends GenericLayout {
+
+	private static final String[] TRACK_SIZES = { "auto", "1fr", "auto" };
+
+	private static final String[] SELF_ALIGNMENTS =
+		{ "start", "stretch", "end" };
+
+	private final int gap;
+
+	private final Widget[][] widgets = new Widget[3][3];
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param gap The horizontal and vertical gap between components
+	 */
+	public GridEdgeLayout(int gap) {
+		this.gap = gap;
+	}
+
+	/**
+	 * Places the widget in the grid area defined by the alignments in the
+	 * style data.
+	 *
+	 * @see GenericLayout#addWidget(HasWidgets, Widget, StyleData, int)
+	 */
+	@Override
+	public void addWidget(HasWidgets container, Widget widget,
+		StyleData styleData, int index) {
+		Alignment vAlign = styleData.getVerticalAlignment();
+		Alignment hAlign = styleData.getHorizontalAlignment();
+		Style style = widget.getElement().getStyle();
+
+		style.setProperty("alignSelf", SELF_ALIGNMENTS[vAlign.ordinal()]);
+		style.setProperty("justifySelf", SELF_ALIGNMENTS[hAlign.ordinal()]);
+		widgets[vAlign.ordinal()][hAlign.ordinal()] = widget;
+
+		container.add(widget);
+		updateGrid((Panel) container);
+	}
+
+	/**
+	 * @see GenericLayout#clear(HasWidgets)
+	 */
+	@Override
+	public void clear(HasWidgets container) {
+		super.clear(container);
+
+		for (int row = 0; row < 3; row++) {
+			for (int col = 0; col < 3; col++) {
+				widgets[row][col] = null;
+			}
+		}
+
+		updateGrid((Panel) container);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Panel createLayoutContainer(Container container,
+		StyleData containerStyle) {
+		GridEdgePanel panel = new GridEdgePanel();
+		Style style = panel.getElement().getStyle();
+
+		panel.setStylePrimaryName(EWT.CSS.ewtEdgeLayout());
+		style.setProperty("display", "grid");
+		style.setProperty("gap", gap + "px");
+		updateGrid(panel);
+
+		return panel;
+	}
+
+	/**
+	 * @see GenericLayout#removeWidget(HasWidgets, Widget)
+	 */
+	@Override
+	public void removeWidget(HasWidgets container, Widget widget) {
+		for (int row = 0; row < 3; row++) {
+			for (int col = 0; col < 3; col++) {
+				if (widgets[row][col] == widget) {
+					widgets[row][col] = null;
+				}
+			}
+		}
+
+		super.removeWidget(container, widget);
+		updateGrid((Panel) container);
+	}
+
+	/**
+	 * Creates the grid track template and the mapping from layout positions
+	 * to grid lines. Empty edge tracks are omitted so that they don't create
+	 * additional gaps.
+	 *
+	 * @param forRows TRUE for the rows, FALSE for the columns
+	 * @param lines   Receives the grid line of each layout position
+	 * @return The grid template
+	 */
+	private String createTemplate(boolean forRows, int[] lines) {
+		StringBuilder template = new StringBuilder();
+		int line = 1;
+
+		for (int i = 0; i < 3; i++) {
+			if (i == 1 || hasWidgets(i, forRows)) {
+				lines[i] = line++;
+				template.append(TRACK_SIZES[i]).append(' ');
+			}
+		}
+
+		return template.toString().trim();
+	}
+
+	/**
+	 * Checks whether a certain row or column contains widgets.
+	 *
+	 * @param index  The row or column index
+	 * @param forRow TRUE for a row, FALSE for a column
+	 * @return TRUE if the row or column contains at least one widget
+	 */
+	private boolean hasWidgets(int index, boolean forRow) {
+		for (int i = 0; i < 3; i++) {
+			if ((forRow && widgets[index][i] != null) ||
+				(!forRow && widgets[i][index] != null)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Updates the grid templates of the container and the grid positions of
+	 * all widgets.
+	 *
+	 * @param container The container panel
+	 */
+	private void updateGrid(Panel container) {
+		Style containerStyle = container.getElement().getStyle();
+		int[] rowLines = new int[3];
+		int[] colLines = new int[3];
+
+		containerStyle.setProperty("gridTemplateRows",
+			createTemplate(true, rowLines));
+		containerStyle.setProperty("gridTemplateColumns",
+			createTemplate(false, colLines));
+
+		for (int row = 0; row < 3; row++) {
+			boolean spanRow =
+				widgets[row][0] == null && widgets[row][2] == null;
+
+			for (int col = 0; col < 3; col++) {
+				Widget widget = widgets[row][col];
+
+				if (widget != null) {
+					Style style = widget.getElement().getStyle();
+					String column = Integer.toString(colLines[col]);
+
+					if (col == 1 && spanRow) {
+						column = "1 / -1";
+					}
+
+					style.setProperty("gridRow",
+						Integer.toString(rowLines[row]));
+					style.setProperty("gridColumn", column);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The grid container panel. Forwards resize events to child widgets that
+	 * require them, e.g. GWT layout panels in the center.
+	 */
+	static class GridEdgePanel extends FlowPanel
+		implements RequiresResize, ProvidesResize {
+
+		/**
+		 * @see RequiresResize#onResize()
+		 */
+		@Override
+		public void onResize() {
+			int count = getWidgetCount();
+
+			for (int i = 0; i < count; i++) {
+				Widget child = getWidget(i);
+
+				if (child instanceof RequiresResize) {
+					((RequiresResize) child).onResize();
+				}
+			}
+		}
+	}
+}
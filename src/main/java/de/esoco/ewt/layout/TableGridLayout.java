@@ -28,8 +28,13 @@ import de.esoco.ewt.component.Component;
 import de.esoco.ewt.component.Container;
 import de.esoco.ewt.style.StyleData;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
- * A table-based grid layout.
+ * A table-based grid layout. The layout keeps track of the cells of the added
+ * widgets so that the cell operations don't need to scan the table.
  */
 public class TableGridLayout extends GenericLayout {
 
@@ -39,6 +44,12 @@ public class TableGridLayout extends GenericLayout {
 
 	private final int gap;
 
+	private final Map<Widget, CellAddress> widgetCells = new HashMap<>();
+
+	private CellAddress lastCell = null;
+
+	private int cellSpans = 0;
+
 	/**
 	 * Creates a new GridLayout instance with a single row of components.
 	 */
@@ -126,6 +137,10 @@ public class TableGridLayout extends GenericLayout {
 		table.setWidget(nextCell.row, nextCell.col, widget);
 		setCellAlignment(styleData, table.getCellFormatter(), nextCell.row,
 			nextCell.col);
+
+		widgetCells.put(widget, nextCell);
+		lastCell = nextCell;
+		cellSpans++;
 	}
 
 	/**
@@ -139,25 +154,27 @@ public class TableGridLayout extends GenericLayout {
 	public void changeCellStyle(Container container, Component component,
 		String style, boolean add) {
 		FlexTable table = (FlexTable) container.getWidget();
-		int rows = table.getRowCount();
 
-		for (int row = 0; row < rows; row++) {
-			int rowCells = table.getCellCount(row);
-
-			for (int col = 0; col < rowCells; col++) {
-				if (table.getWidget(row, col) == component.getWidget()) {
-					CellFormatter cellFormatter = table.getCellFormatter();
-
-					// always remove first to prevent duplication
-					cellFormatter.removeStyleName(row, col, style);
+		changeCellStyle(table.getCellFormatter(), component, style, add);
+	}
 
-					if (add) {
-						cellFormatter.addStyleName(row, col, style);
-					}
+	/**
+	 * Adds or removes a style name for the cells of multiple components.
+	 *
+	 * @param container  The container to modify the cell styles in
+	 * @param components The components
+	 * @param style      The style name to add or remove
+	 * @param add        TRUE to add the style, FALSE to remove
+	 * @see #changeCellStyle(Container, Component, String, boolean)
+	 */
+	public void changeCellStyles(Container container,
+		Collection<? extends Component> components, String style,
+		boolean add) {
+		FlexTable table = (FlexTable) container.getWidget();
+		CellFormatter cellFormatter = table.getCellFormatter();
 
-					return;
-				}
-			}
+		for (Component component : components) {
+			changeCellStyle(cellFormatter, component, style, add);
 		}
 	}
 
@@ -169,6 +186,7 @@ public class TableGridLayout extends GenericLayout {
 		super.clear(container);
 
 		((FlexTable) container).removeAllRows();
+		resetCells();
 	}
 
 	/**
@@ -216,8 +234,10 @@ public class TableGridLayout extends GenericLayout {
 	public void joinColumns(Container container, int count) {
 		FlexTable table = (FlexTable) container.getWidget();
 		CellAddress cell = getCell(table, false);
+		FlexCellFormatter cellFormatter = table.getFlexCellFormatter();
 
-		table.getFlexCellFormatter().setColSpan(cell.row, cell.col, count);
+		cellSpans += count - cellFormatter.getColSpan(cell.row, cell.col);
+		cellFormatter.setColSpan(cell.row, cell.col, count);
 	}
 
 	/**
@@ -236,6 +256,23 @@ public class TableGridLayout extends GenericLayout {
 		table.getFlexCellFormatter().setRowSpan(cell.row, cell.col, count);
 	}
 
+	/**
+	 * Removes a widget from it's cell. If the last widget is removed all table
+	 * rows will be removed too so that new widgets will be added from the
+	 * first cell again.
+	 *
+	 * @see GenericLayout#removeWidget(HasWidgets, Widget)
+	 */
+	@Override
+	public void removeWidget(HasWidgets container, Widget widget) {
+		super.removeWidget(container, widget);
+
+		if (widgetCells.remove(widget) != null && widgetCells.isEmpty()) {
+			((FlexTable) container).removeAllRows();
+			resetCells();
+		}
+	}
+
 	/**
 	 * Sets the size of the cell in which the last component has been added to
 	 * this layout.
@@ -267,47 +304,68 @@ public class TableGridLayout extends GenericLayout {
 		gridCount = count;
 	}
 
+	/**
+	 * Adds or removes a style name for the cell of a certain component.
+	 *
+	 * @param cellFormatter The cell formatter of the layout table
+	 * @param component     The component
+	 * @param style         The style name to add or remove
+	 * @param add           TRUE to add the style, FALSE to remove
+	 */
+	private void changeCellStyle(CellFormatter cellFormatter,
+		Component component, String style, boolean add) {
+		CellAddress cell = widgetCells.get(component.getWidget());
+
+		if (cell != null) {
+			// always remove first to prevent duplication
+			cellFormatter.removeStyleName(cell.row, cell.col, style);
+
+			if (add) {
+				cellFormatter.addStyleName(cell.row, cell.col, style);
+			}
+		}
+	}
+
 	/**
 	 * Internal helper method to determine the row and column of the last added
-	 * or next cell to fill.
+	 * or next cell to fill. The next cell is calculated from the number of
+	 * cells (including column spans) that have been added to the table.
 	 *
 	 * @param table The table to determine the cell of
 	 * @param next  TRUE for the next, FALSE for the last cell
 	 * @return The address of the cell
 	 */
 	private CellAddress getCell(FlexTable table, boolean next) {
-		FlexCellFormatter cellFormatter = table.getFlexCellFormatter();
-		int rows = table.getRowCount();
-		int cellCount = next ? 0 : -1;
-
-		for (int row = 0; row < rows; row++) {
-			int rowCells = table.getCellCount(row);
-
-			for (int col = 0; col < rowCells; col++) {
-				cellCount += cellFormatter.getColSpan(row, col);
-			}
+		if (!next) {
+			return lastCell != null ? lastCell : new CellAddress(0, 0);
 		}
 
+		int rows = table.getRowCount();
 		int col = 0;
 		int row;
 
 		if (isColumnCount) {
-			row = cellCount / gridCount;
+			row = cellSpans / gridCount;
 		} else {
-			row = cellCount % gridCount;
+			row = cellSpans % gridCount;
 		}
 
 		if (row < rows) {
 			col = table.getCellCount(row);
-
-			if (!next) {
-				col--;
-			}
 		}
 
 		return new CellAddress(row, col);
 	}
 
+	/**
+	 * Resets the cell tracking after all table rows have been removed.
+	 */
+	private void resetCells() {
+		widgetCells.clear();
+		lastCell = null;
+		cellSpans = 0;
+	}
+
 	/**
 	 * Internal implementation of the layout container.
 	 *
@@ -0,0 +1,123 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.layout;
+
+import de.esoco.ewt.component.Container;
+import de.esoco.ewt.style.StyleData;
+
+import de.esoco.lib.property.PropertyName;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.user.client.ui.HTMLPanel;
+import com.google.gwt.user.client.ui.HasWidgets;
+import com.google.gwt.user.client.ui.Widget;
+
+/**
+ * A layout that renders a pre-rendered DOM subtree into it's container by
+ * cloning a template element. Components that are added to the container
+ * will be placed into the template slot element that is named by the style
+ * property {@link #TEMPLATE_SLOT} of the component or appended to the
+ * container if no slot is set. Slot elements are marked with the attribute
+ * {@link #SLOT_ATTRIBUTE}. Typically used through
+ * {@link de.esoco.ewt.build.ComponentTemplate}.
+ */
+public class TemplateLayout extends GenericLayout {
+
+	/**
+	 * The name of the element attribute that marks template slots.
+	 */
+	public static final String SLOT_ATTRIBUTE = "data-ewt-slot";
+
+	/**
+	 * A component style property that defines the name of the template slot
+	 * to place a component in.
+	 */
+	public static final PropertyName<String> TEMPLATE_SLOT =
+		PropertyName.newStringName("TEMPLATE_SLOT");
+
+	private final Element template;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param template The template element to be cloned into the container
+	 */
+	public TemplateLayout(Element template) {
+		this.template = template;
+	}
+
+	/**
+	 * Returns the first descendant of an element that matches a CSS selector.
+	 *
+	 * @param root     The root element
+	 * @param selector The CSS selector
+	 * @return The matching element or NULL for none
+	 */
+	private static native Element querySelector(Element root,
+		String selector) /*-{
+		return root.querySelector(selector);
+	}-*/;
+
+	/**
+	 * Places the widget into the template slot that is defined in the style
+	 * data or, if no slot is set or found, appends it to the container.
+	 *
+	 * @see GenericLayout#addWidget(HasWidgets, Widget, StyleData, int)
+	 */
+	@Override
+	public void addWidget(HasWidgets container, Widget widget,
+		StyleData styleData, int index) {
+		String slot = styleData.getProperty(TEMPLATE_SLOT, null);
+		Element slotElement = null;
+
+		if (slot != null && container instanceof HTMLPanel) {
+			slotElement = findSlot(((HTMLPanel) container).getElement(), slot);
+		}
+
+		if (slotElement != null) {
+			((HTMLPanel) container).add(widget, slotElement);
+		} else {
+			super.addWidget(container, widget, styleData, index);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public HasWidgets createLayoutContainer(Container container,
+		StyleData styleData) {
+		HTMLPanel panel = new HTMLPanel("");
+
+		panel.getElement().appendChild(template.cloneNode(true));
+
+		return panel;
+	}
+
+	/**
+	 * Searches the slot element with a certain name in the cloned template.
+	 *
+	 * @param root The root element to search
+	 * @param slot The slot name
+	 * @return The slot element or NULL if not found
+	 */
+	private Element findSlot(Element root, String slot) {
+		String name = slot.replace("\\", "\\\\").replace("\"", "\\\"");
+
+		return querySelector(root, "[" + SLOT_ATTRIBUTE + "=\"" + name + "\"]");
+	}
+}
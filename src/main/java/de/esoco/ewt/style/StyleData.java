@@ -35,6 +35,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import static de.esoco.lib.property.StyleProperties.CSS_STYLES;
@@ -56,6 +57,14 @@ import static de.esoco.lib.property.StyleProperties.CSS_STYLES;
  * where no specific style is needed. This constant is also used internally by
  * GEWT and in cases where a NULL value is set as the style data.</p>
  *
+ * <p>Copies share the property map and the flags of the original instance
+ * until they are modified, and modifications that don't change anything
+ * return the original instance. Frequently used instances (especially style
+ * constants) can be shared with {@link #intern()}. Interned instances also
+ * cache the results of merging them with other interned instances through
+ * {@link #merge(StyleData)} so that merging common combinations of styles
+ * doesn't create new instances.</p>
+ *
  * @author eso
  */
 public class StyleData extends AbstractStringProperties {
@@ -63,7 +72,7 @@ public class StyleData extends AbstractStringProperties {
 	/**
 	 * Default StyleData constant
 	 */
-	public static final StyleData DEFAULT = new StyleData();
+	public static final StyleData DEFAULT = new StyleData().intern();
 
 	/**
 	 * Style name: The HTML style of a component
@@ -87,6 +96,11 @@ public class StyleData extends AbstractStringProperties {
 
 	private static final long serialVersionUID = 1L;
 
+	private static final int MAX_CACHED_MERGES = 50;
+
+	// not initialized in the declaration because DEFAULT is interned before
+	private static Map<StyleData, StyleData> internedStyles;
+
 	private Alignment horizontalAlign = Alignment.FILL;
 
 	private Alignment verticalAlign = Alignment.FILL;
@@ -101,6 +115,12 @@ public class StyleData extends AbstractStringProperties {
 
 	private Set<StyleFlag> flags = EnumSet.noneOf(StyleFlag.class);
 
+	private transient int hashCode = 0;
+
+	private transient boolean interned = false;
+
+	private transient Map<StyleData, StyleData> mergeCache = null;
+
 	/**
 	 * Creates a style data object with particular horizontal and vertical
 	 * alignments.
@@ -214,25 +234,52 @@ public class StyleData extends AbstractStringProperties {
 	 */
 	@SuppressWarnings("unchecked")
 	public final StyleData css(String cssProperty, String value) {
-		StyleData copy = new StyleData(this);
+		Map<String, String> cssStyles = getProperty(CSS_STYLES, null);
 
-		Map<String, String> cssStyles = copy.getProperty(CSS_STYLES, null);
+		if (cssStyles == null) {
+			if (value == null) {
+				return this;
+			}
 
-		if (cssStyles == null && value != null) {
 			cssStyles = new HashMap<>();
+		} else if (Objects.equals(cssStyles.get(cssProperty), value)) {
+			return this;
 		}
 
-		if (cssStyles != null) {
-			if (value != null) {
-				cssStyles.put(cssProperty, value);
-			} else {
-				cssStyles.remove(cssProperty);
-			}
+		if (value != null) {
+			cssStyles.put(cssProperty, value);
+		} else {
+			cssStyles.remove(cssProperty);
 		}
 
-		copy.setProperty(CSS_STYLES, cssStyles);
+		return set(CSS_STYLES, cssStyles);
+	}
 
-		return copy;
+	/**
+	 * Compares this instance with another object for equality. Two style data
+	 * instances are equal if all their position, size, and alignment values,
+	 * their flags, and their properties are equal.
+	 *
+	 * @param obj The object to compare with
+	 * @return TRUE if the argument is a style data object with the same values
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+
+		StyleData other = (StyleData) obj;
+
+		return x == other.x && y == other.y && w == other.w && h == other.h &&
+			horizontalAlign == other.horizontalAlign &&
+			verticalAlign == other.verticalAlign &&
+			flags.equals(other.flags) &&
+			getProperties().equals(other.getProperties());
 	}
 
 	/**
@@ -312,6 +359,49 @@ public class StyleData extends AbstractStringProperties {
 		return flags.contains(flag);
 	}
 
+	/**
+	 * Returns a hash code that is consistent with {@link #equals(Object)}. The
+	 * hash code is only calculated once because instances are immutable.
+	 *
+	 * @return The hash code
+	 */
+	@Override
+	public int hashCode() {
+		if (hashCode == 0) {
+			hashCode = Objects.hash(x, y, w, h, horizontalAlign, verticalAlign,
+				flags, getProperties());
+		}
+
+		return hashCode;
+	}
+
+	/**
+	 * Returns a canonical instance for this style data. If an equal instance
+	 * has been interned before that instance will be returned, else this
+	 * instance will be registered and returned. Interned instances are kept
+	 * for the lifetime of the application and should therefore only be used
+	 * for styles that are used frequently, like style constants or the
+	 * default styles of component types. The results of merging interned
+	 * instances will be cached up to a limited number per instance.
+	 *
+	 * @return The canonical style data instance
+	 */
+	public final StyleData intern() {
+		if (internedStyles == null) {
+			internedStyles = new HashMap<>();
+		}
+
+		StyleData canonical = internedStyles.get(this);
+
+		if (canonical == null) {
+			canonical = this;
+			canonical.interned = true;
+			internedStyles.put(canonical, canonical);
+		}
+
+		return canonical;
+	}
+
 	/**
 	 * Maps the horizontal alignment style flags in this instance to the
 	 * corresponding GWT constant as defined in {@link HasHorizontalAlignment}.
@@ -385,36 +475,32 @@ public class StyleData extends AbstractStringProperties {
 	 * @return A new StyleData instance
 	 */
 	public final StyleData merge(StyleData other) {
-		StyleData copy = new StyleData(this);
-
-		if (horizontalAlign == DEFAULT.horizontalAlign) {
-			copy.horizontalAlign = other.horizontalAlign;
+		if (other == this || other.isDefault()) {
+			return this;
+		} else if (isDefault()) {
+			return other;
 		}
 
-		if (verticalAlign == DEFAULT.verticalAlign) {
-			copy.verticalAlign = other.verticalAlign;
+		if (!interned || !other.interned) {
+			return mergeWith(other);
 		}
 
-		if (x == DEFAULT.x) {
-			copy.x = other.x;
+		if (mergeCache == null) {
+			mergeCache = new HashMap<>();
 		}
 
-		if (y == DEFAULT.y) {
-			copy.y = other.y;
-		}
+		StyleData merged = mergeCache.get(other);
 
-		if (w == DEFAULT.w) {
-			copy.w = other.w;
-		}
+		if (merged == null) {
+			if (mergeCache.size() >= MAX_CACHED_MERGES) {
+				mergeCache.clear();
+			}
 
-		if (h == DEFAULT.h) {
-			copy.h = other.h;
+			merged = mergeWith(other);
+			mergeCache.put(other, merged);
 		}
 
-		copy.addStyleFlags(other.flags);
-		copy.addPropertyMap(other.getPropertyMap());
-
-		return copy;
+		return merged;
 	}
 
 	/**
@@ -433,6 +519,10 @@ public class StyleData extends AbstractStringProperties {
 	 * @return A copy of this instance with the given style set
 	 */
 	public <T> StyleData set(PropertyName<T> name, T value) {
+		if (value != null && value.equals(getProperty(name, null))) {
+			return this;
+		}
+
 		StyleData copy = new StyleData(this);
 
 		Map<PropertyName<?>, String> propertyMap = getPropertyMap();
@@ -464,6 +554,10 @@ public class StyleData extends AbstractStringProperties {
 	 * flag
 	 */
 	public final StyleData setFlags(StyleFlag... styleFlags) {
+		if (flags.containsAll(Arrays.asList(styleFlags))) {
+			return this;
+		}
+
 		StyleData copy = new StyleData(this);
 
 		copy.flags = EnumSet.copyOf(flags);
@@ -581,6 +675,10 @@ public class StyleData extends AbstractStringProperties {
 	 * @return A new StyleData instance
 	 */
 	public final StyleData xywh(double x, double y, double w, double h) {
+		if (x == this.x && y == this.y && w == this.w && h == this.h) {
+			return this;
+		}
+
 		StyleData copy = new StyleData(this);
 
 		copy.x = x;
@@ -639,4 +737,65 @@ public class StyleData extends AbstractStringProperties {
 			flags = EnumSet.copyOf(flags);
 		}
 	}
+
+	/**
+	 * Returns the property map of this instance or an empty map if no
+	 * properties have been set.
+	 *
+	 * @return The property map (must not be modified)
+	 */
+	private Map<PropertyName<?>, String> getProperties() {
+		Map<PropertyName<?>, String> propertyMap = getPropertyMap();
+
+		return propertyMap != null ? propertyMap :
+		       Collections.<PropertyName<?>, String>emptyMap();
+	}
+
+	/**
+	 * Checks whether this instance only contains default values.
+	 *
+	 * @return TRUE if this instance is equal to {@link #DEFAULT}
+	 */
+	private boolean isDefault() {
+		return this == DEFAULT || equals(DEFAULT);
+	}
+
+	/**
+	 * Performs the actual merging for {@link #merge(StyleData)}.
+	 *
+	 * @param other The other instance to merge the values from
+	 * @return A new StyleData instance
+	 */
+	private StyleData mergeWith(StyleData other) {
+		StyleData copy = new StyleData(this);
+
+		if (horizontalAlign == DEFAULT.horizontalAlign) {
+			copy.horizontalAlign = other.horizontalAlign;
+		}
+
+		if (verticalAlign == DEFAULT.verticalAlign) {
+			copy.verticalAlign = other.verticalAlign;
+		}
+
+		if (x == DEFAULT.x) {
+			copy.x = other.x;
+		}
+
+		if (y == DEFAULT.y) {
+			copy.y = other.y;
+		}
+
+		if (w == DEFAULT.w) {
+			copy.w = other.w;
+		}
+
+		if (h == DEFAULT.h) {
+			copy.h = other.h;
+		}
+
+		copy.addStyleFlags(other.flags);
+		copy.addPropertyMap(other.getPropertyMap());
+
+		return copy;
+	}
 }
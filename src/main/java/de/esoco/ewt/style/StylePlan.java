@@ -0,0 +1,353 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'gewt' project.
+// Copyright 2018 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.ewt.style;
+
+import de.esoco.ewt.EWT;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gwt.user.client.ui.HasHorizontalAlignment.HorizontalAlignmentConstant;
+import com.google.gwt.user.client.ui.HasVerticalAlignment.VerticalAlignmentConstant;
+import com.google.gwt.user.client.ui.ValueBoxBase.TextAlignment;
+
+import static de.esoco.lib.property.ContentProperties.ELEMENT_ID;
+import static de.esoco.lib.property.StyleProperties.CSS_STYLES;
+
+/**
+ * Contains the values of a {@link StyleData} instance that are needed to
+ * apply the style to a widget in their resolved form. Plans are compiled once
+ * per style data and cached so that re-applying a style neither needs to
+ * query the style properties nor to split and map the additional style names
+ * again. Because style data objects are immutable a plan will always be valid
+ * for the style it has been created from.
+ *
+ * <p>The cache is bounded to {@link #MAX_CACHED_PLANS} entries and must be
+ * cleared with {@link #clearCache()} if CSS class mappings change (which is
+ * done automatically by {@link EWT#addCssClassMapping(String, String)}).</p>
+ */
+public final class StylePlan {
+
+	/**
+	 * The maximum number of cached plans. If this number is exceeded the
+	 * cache will be cleared.
+	 */
+	public static final int MAX_CACHED_PLANS = 500;
+
+	private static final String[] NO_STYLES = new String[0];
+
+	private static final String[] VENDOR_PREFIXES =
+		{ "webkit", "moz", "ms", "o" };
+
+	private static final Map<StyleData, StylePlan> planCache =
+		new HashMap<>();
+
+	private final String elementId;
+
+	private final String webStyle;
+
+	private final String webDependentStyle;
+
+	private final String[] additionalStyles;
+
+	private final String[] unmappedAdditionalStyles;
+
+	private final HorizontalAlignmentConstant horizontalAlignment;
+
+	private final TextAlignment textAlignment;
+
+	private final VerticalAlignmentConstant verticalAlignment;
+
+	private final Map<String, String> cssStyles;
+
+	private final String cssText;
+
+	private final boolean separateCssValues;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param style The style data to create the plan for
+	 */
+	private StylePlan(StyleData style) {
+		String webAdditionalStyles =
+			style.getProperty(StyleData.WEB_ADDITIONAL_STYLES, null);
+
+		elementId = style.getProperty(ELEMENT_ID, null);
+		webStyle = style.getProperty(StyleData.WEB_STYLE, null);
+		webDependentStyle =
+			style.getProperty(StyleData.WEB_DEPENDENT_STYLE, null);
+		horizontalAlignment = style.mapHorizontalAlignment();
+		textAlignment = style.mapTextAlignment();
+		verticalAlignment = style.mapVerticalAlignment();
+		cssStyles = style.getProperty(CSS_STYLES, null);
+		cssText = cssStyles != null ? createCssText(cssStyles) : null;
+		separateCssValues =
+			cssStyles != null && containsSeparateCssValues(cssStyles);
+
+		if (webAdditionalStyles != null &&
+			!webAdditionalStyles.trim().isEmpty()) {
+			unmappedAdditionalStyles =
+				webAdditionalStyles.trim().split("\\s+");
+			additionalStyles = new String[unmappedAdditionalStyles.length];
+
+			for (int i = 0; i < additionalStyles.length; i++) {
+				additionalStyles[i] =
+					EWT.mapCssClass(unmappedAdditionalStyles[i]);
+			}
+		} else {
+			additionalStyles = NO_STYLES;
+			unmappedAdditionalStyles = NO_STYLES;
+		}
+	}
+
+	/**
+	 * Removes all cached plans.
+	 */
+	public static void clearCache() {
+		planCache.clear();
+	}
+
+	/**
+	 * Creates a CSS declaration string from a map of CSS style properties
+	 * that can be applied to an element in a single operation. Property names
+	 * in camel case (as used by the GWT {@code Style} class) will be converted
+	 * to the CSS notation in the same way as the browser does for the
+	 * properties of a style object, e.g. {@code cssFloat} to {@code float}
+	 * and {@code webkitTransform} to {@code -webkit-transform}.
+	 *
+	 * <p>Values that contain a ';' (like data URLs) are not included in the
+	 * declarations because they could add further declarations if they are
+	 * malformed. These values must be set separately for each property (see
+	 * {@link #isSeparateCssValue(String)}).</p>
+	 *
+	 * @param cssStyles A mapping from CSS property names to values
+	 * @return The CSS declarations
+	 */
+	public static String createCssText(Map<String, String> cssStyles) {
+		StringBuilder cssText = new StringBuilder();
+
+		for (Entry<String, String> css : cssStyles.entrySet()) {
+			String value = css.getValue();
+
+			if (!isSeparateCssValue(value)) {
+				cssText.append(toCssPropertyName(css.getKey()));
+				cssText.append(':').append(value).append(';');
+			}
+		}
+
+		return cssText.toString();
+	}
+
+	/**
+	 * Returns the plan for a certain style data instance. The plan will be
+	 * compiled on the first invocation for a style.
+	 *
+	 * @param style The style data
+	 * @return The style plan
+	 */
+	public static StylePlan get(StyleData style) {
+		StylePlan plan = planCache.get(style);
+
+		if (plan == null) {
+			if (planCache.size() >= MAX_CACHED_PLANS) {
+				planCache.clear();
+			}
+
+			plan = new StylePlan(style);
+			planCache.put(style, plan);
+		}
+
+		return plan;
+	}
+
+	/**
+	 * Checks whether a CSS value must be set separately on a style object
+	 * instead of being included in the result of
+	 * {@link #createCssText(Map)}.
+	 *
+	 * @param value The CSS value
+	 * @return TRUE if the value must be set separately
+	 */
+	public static boolean isSeparateCssValue(String value) {
+		return value.indexOf(';') >= 0;
+	}
+
+	/**
+	 * Returns the additional style names with the CSS class mappings
+	 * applied.
+	 *
+	 * @return The additional styles (empty for none, must not be modified)
+	 */
+	public String[] getAdditionalStyles() {
+		return additionalStyles;
+	}
+
+	/**
+	 * Returns the CSS styles.
+	 *
+	 * @return A mapping from CSS property names to values or NULL for none
+	 */
+	public Map<String, String> getCssStyles() {
+		return cssStyles;
+	}
+
+	/**
+	 * Returns the CSS styles as a declaration string.
+	 *
+	 * @return The CSS declarations or NULL for none
+	 * @see #createCssText(Map)
+	 */
+	public String getCssText() {
+		return cssText;
+	}
+
+	/**
+	 * Returns the element ID.
+	 *
+	 * @return The element ID or NULL for none
+	 */
+	public String getElementId() {
+		return elementId;
+	}
+
+	/**
+	 * Returns the GWT horizontal alignment.
+	 *
+	 * @return The horizontal alignment or NULL for none
+	 * @see StyleData#mapHorizontalAlignment()
+	 */
+	public HorizontalAlignmentConstant getHorizontalAlignment() {
+		return horizontalAlignment;
+	}
+
+	/**
+	 * Returns the GWT text alignment.
+	 *
+	 * @return The text alignment or NULL for none
+	 * @see StyleData#mapTextAlignment()
+	 */
+	public TextAlignment getTextAlignment() {
+		return textAlignment;
+	}
+
+	/**
+	 * Returns the additional style names as they have been set in the style
+	 * data, i.e. without the CSS class mappings.
+	 *
+	 * @return The unmapped additional styles (empty for none, must not be
+	 * modified)
+	 */
+	public String[] getUnmappedAdditionalStyles() {
+		return unmappedAdditionalStyles;
+	}
+
+	/**
+	 * Returns the GWT vertical alignment.
+	 *
+	 * @return The vertical alignment or NULL for none
+	 * @see StyleData#mapVerticalAlignment()
+	 */
+	public VerticalAlignmentConstant getVerticalAlignment() {
+		return verticalAlignment;
+	}
+
+	/**
+	 * Returns the dependent web style name.
+	 *
+	 * @return The dependent style or NULL for none
+	 */
+	public String getWebDependentStyle() {
+		return webDependentStyle;
+	}
+
+	/**
+	 * Returns the primary web style name.
+	 *
+	 * @return The web style or NULL for none
+	 */
+	public String getWebStyle() {
+		return webStyle;
+	}
+
+	/**
+	 * Checks whether the CSS styles contain values that are not included in
+	 * the CSS text and must be set separately.
+	 *
+	 * @return TRUE if separate CSS values exist
+	 * @see #isSeparateCssValue(String)
+	 */
+	public boolean hasSeparateCssValues() {
+		return separateCssValues;
+	}
+
+	/**
+	 * Checks whether a map of CSS styles contains values that must be set
+	 * separately.
+	 *
+	 * @param cssStyles The CSS styles
+	 * @return TRUE if at least one value must be set separately
+	 */
+	private static boolean containsSeparateCssValues(
+		Map<String, String> cssStyles) {
+		for (String value : cssStyles.values()) {
+			if (isSeparateCssValue(value)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Converts the name of a property of a DOM style object into the name of
+	 * the CSS property.
+	 *
+	 * @param property The style property name
+	 * @return The CSS property name
+	 */
+	private static String toCssPropertyName(String property) {
+		if (property.equals("cssFloat") || property.equals("styleFloat")) {
+			return "float";
+		}
+
+		StringBuilder name = new StringBuilder(property.length() + 4);
+
+		for (String prefix : VENDOR_PREFIXES) {
+			int length = prefix.length();
+
+			if (property.length() > length && property.startsWith(prefix) &&
+				Character.isUpperCase(property.charAt(length))) {
+				name.append('-');
+				break;
+			}
+		}
+
+		for (int i = 0; i < property.length(); i++) {
+			char c = property.charAt(i);
+
+			if (Character.isUpperCase(c)) {
+				name.append('-').append(Character.toLowerCase(c));
+			} else {
+				name.append(c);
+			}
+		}
+
+		return name.toString();
+	}
+}